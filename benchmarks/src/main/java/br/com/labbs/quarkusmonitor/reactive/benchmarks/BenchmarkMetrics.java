@@ -0,0 +1,33 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Metrics of the benchmarks in a Prometheus registry, bound to the static API as the recorder does at runtime init, so the recording
+ * code runs as in an application without starting Quarkus.
+ */
+final class BenchmarkMetrics {
+
+  static final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+  private static B5Metrics metrics;
+
+  private BenchmarkMetrics() {
+  }
+
+  /**
+   * Bind the metrics to the static API, must be called before the first use of the recording code.
+   */
+  static synchronized void install() {
+    if (metrics == null) {
+      metrics = new B5Metrics(registry, MetricsSettings.builder()
+          .maxSeries(Integer.getInteger("quarkus.b5.monitor.max-series", 10000))
+          .build());
+      Metrics.bind(metrics);
+    }
+  }
+}
@@ -0,0 +1,788 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.core.PathSegment;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.UriBuilder;
+import jakarta.ws.rs.core.UriInfo;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain implementations of the JAX-RS contexts seen by the filters, backed by fields and arrays so the benchmarks measure the filters
+ * rather than a mocking library, and a reset context does not allocate. Only the methods used by the extension are supported.
+ */
+final class Contexts {
+
+  private Contexts() {
+  }
+
+  private static UnsupportedOperationException unsupported() {
+    return new UnsupportedOperationException("not used by the filters");
+  }
+
+  static final class ServerRequest implements ContainerRequestContext {
+
+    private final Properties properties = new Properties();
+    private final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+    private final String method;
+    private final UriInfo uriInfo;
+
+    ServerRequest(String method, String path) {
+      this.method = method;
+      this.uriInfo = new Uri(path);
+    }
+
+    void reset() {
+      properties.clear();
+    }
+
+    @Override
+    public Object getProperty(String name) {
+      return properties.get(name);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+      return properties.names();
+    }
+
+    @Override
+    public void setProperty(String name, Object object) {
+      properties.put(name, object);
+    }
+
+    @Override
+    public void removeProperty(String name) {
+      properties.remove(name);
+    }
+
+    @Override
+    public UriInfo getUriInfo() {
+      return uriInfo;
+    }
+
+    @Override
+    public void setRequestUri(URI requestUri) {
+      throw unsupported();
+    }
+
+    @Override
+    public void setRequestUri(URI baseUri, URI requestUri) {
+      throw unsupported();
+    }
+
+    @Override
+    public Request getRequest() {
+      throw unsupported();
+    }
+
+    @Override
+    public String getMethod() {
+      return method;
+    }
+
+    @Override
+    public void setMethod(String method) {
+      throw unsupported();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public String getHeaderString(String name) {
+      return headers.getFirst(name);
+    }
+
+    @Override
+    public Date getDate() {
+      return null;
+    }
+
+    @Override
+    public Locale getLanguage() {
+      return null;
+    }
+
+    @Override
+    public int getLength() {
+      return -1;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+      return null;
+    }
+
+    @Override
+    public List<MediaType> getAcceptableMediaTypes() {
+      return List.of();
+    }
+
+    @Override
+    public List<Locale> getAcceptableLanguages() {
+      return List.of();
+    }
+
+    @Override
+    public Map<String, Cookie> getCookies() {
+      return Map.of();
+    }
+
+    @Override
+    public boolean hasEntity() {
+      return false;
+    }
+
+    @Override
+    public InputStream getEntityStream() {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntityStream(InputStream input) {
+      throw unsupported();
+    }
+
+    @Override
+    public SecurityContext getSecurityContext() {
+      throw unsupported();
+    }
+
+    @Override
+    public void setSecurityContext(SecurityContext context) {
+      throw unsupported();
+    }
+
+    @Override
+    public void abortWith(Response response) {
+      throw unsupported();
+    }
+  }
+
+  static final class ServerResponse implements ContainerResponseContext {
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private int status;
+
+    ServerResponse(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+      return status;
+    }
+
+    @Override
+    public void setStatus(int code) {
+      this.status = code;
+    }
+
+    @Override
+    public Response.StatusType getStatusInfo() {
+      return Response.Status.fromStatusCode(status);
+    }
+
+    @Override
+    public void setStatusInfo(Response.StatusType statusInfo) {
+      this.status = statusInfo.getStatusCode();
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getStringHeaders() {
+      throw unsupported();
+    }
+
+    @Override
+    public String getHeaderString(String name) {
+      var value = headers.getFirst(name);
+      return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public Set<String> getAllowedMethods() {
+      return Set.of();
+    }
+
+    @Override
+    public Date getDate() {
+      return null;
+    }
+
+    @Override
+    public Locale getLanguage() {
+      return null;
+    }
+
+    @Override
+    public int getLength() {
+      return -1;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+      return null;
+    }
+
+    @Override
+    public Map<String, NewCookie> getCookies() {
+      return Map.of();
+    }
+
+    @Override
+    public EntityTag getEntityTag() {
+      return null;
+    }
+
+    @Override
+    public Date getLastModified() {
+      return null;
+    }
+
+    @Override
+    public URI getLocation() {
+      return null;
+    }
+
+    @Override
+    public Set<Link> getLinks() {
+      return Set.of();
+    }
+
+    @Override
+    public boolean hasLink(String relation) {
+      return false;
+    }
+
+    @Override
+    public Link getLink(String relation) {
+      return null;
+    }
+
+    @Override
+    public Link.Builder getLinkBuilder(String relation) {
+      return null;
+    }
+
+    @Override
+    public boolean hasEntity() {
+      return false;
+    }
+
+    @Override
+    public Object getEntity() {
+      return null;
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+      return null;
+    }
+
+    @Override
+    public Type getEntityType() {
+      return null;
+    }
+
+    @Override
+    public void setEntity(Object entity) {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntity(Object entity, Annotation[] annotations, MediaType mediaType) {
+      throw unsupported();
+    }
+
+    @Override
+    public Annotation[] getEntityAnnotations() {
+      return new Annotation[0];
+    }
+
+    @Override
+    public OutputStream getEntityStream() {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntityStream(OutputStream outputStream) {
+      throw unsupported();
+    }
+  }
+
+  static final class ClientRequest implements ClientRequestContext {
+
+    private final Properties properties = new Properties();
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private final String method;
+    private final URI uri;
+
+    ClientRequest(String method, URI uri) {
+      this.method = method;
+      this.uri = uri;
+    }
+
+    void reset() {
+      properties.clear();
+    }
+
+    @Override
+    public Object getProperty(String name) {
+      return properties.get(name);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+      return properties.names();
+    }
+
+    @Override
+    public void setProperty(String name, Object object) {
+      properties.put(name, object);
+    }
+
+    @Override
+    public void removeProperty(String name) {
+      properties.remove(name);
+    }
+
+    @Override
+    public URI getUri() {
+      return uri;
+    }
+
+    @Override
+    public void setUri(URI uri) {
+      throw unsupported();
+    }
+
+    @Override
+    public String getMethod() {
+      return method;
+    }
+
+    @Override
+    public void setMethod(String method) {
+      throw unsupported();
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getStringHeaders() {
+      throw unsupported();
+    }
+
+    @Override
+    public String getHeaderString(String name) {
+      var value = headers.getFirst(name);
+      return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public Date getDate() {
+      return null;
+    }
+
+    @Override
+    public Locale getLanguage() {
+      return null;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+      return null;
+    }
+
+    @Override
+    public List<MediaType> getAcceptableMediaTypes() {
+      return List.of();
+    }
+
+    @Override
+    public List<Locale> getAcceptableLanguages() {
+      return List.of();
+    }
+
+    @Override
+    public Map<String, Cookie> getCookies() {
+      return Map.of();
+    }
+
+    @Override
+    public boolean hasEntity() {
+      return false;
+    }
+
+    @Override
+    public Object getEntity() {
+      return null;
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+      return null;
+    }
+
+    @Override
+    public Type getEntityType() {
+      return null;
+    }
+
+    @Override
+    public void setEntity(Object entity) {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntity(Object entity, Annotation[] annotations, MediaType mediaType) {
+      throw unsupported();
+    }
+
+    @Override
+    public Annotation[] getEntityAnnotations() {
+      return new Annotation[0];
+    }
+
+    @Override
+    public OutputStream getEntityStream() {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntityStream(OutputStream outputStream) {
+      throw unsupported();
+    }
+
+    @Override
+    public Client getClient() {
+      throw unsupported();
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+      throw unsupported();
+    }
+
+    @Override
+    public void abortWith(Response response) {
+      throw unsupported();
+    }
+  }
+
+  static final class ClientResponse implements ClientResponseContext {
+
+    private final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+    private int status;
+
+    ClientResponse(int status) {
+      this.status = status;
+    }
+
+    @Override
+    public int getStatus() {
+      return status;
+    }
+
+    @Override
+    public void setStatus(int code) {
+      this.status = code;
+    }
+
+    @Override
+    public Response.StatusType getStatusInfo() {
+      return Response.Status.fromStatusCode(status);
+    }
+
+    @Override
+    public void setStatusInfo(Response.StatusType statusInfo) {
+      this.status = statusInfo.getStatusCode();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public String getHeaderString(String name) {
+      return headers.getFirst(name);
+    }
+
+    @Override
+    public Set<String> getAllowedMethods() {
+      return Set.of();
+    }
+
+    @Override
+    public Date getDate() {
+      return null;
+    }
+
+    @Override
+    public Locale getLanguage() {
+      return null;
+    }
+
+    @Override
+    public int getLength() {
+      return -1;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+      return null;
+    }
+
+    @Override
+    public Map<String, NewCookie> getCookies() {
+      return Map.of();
+    }
+
+    @Override
+    public EntityTag getEntityTag() {
+      return null;
+    }
+
+    @Override
+    public Date getLastModified() {
+      return null;
+    }
+
+    @Override
+    public URI getLocation() {
+      return null;
+    }
+
+    @Override
+    public Set<Link> getLinks() {
+      return Set.of();
+    }
+
+    @Override
+    public boolean hasLink(String relation) {
+      return false;
+    }
+
+    @Override
+    public Link getLink(String relation) {
+      return null;
+    }
+
+    @Override
+    public Link.Builder getLinkBuilder(String relation) {
+      return null;
+    }
+
+    @Override
+    public boolean hasEntity() {
+      return false;
+    }
+
+    @Override
+    public InputStream getEntityStream() {
+      throw unsupported();
+    }
+
+    @Override
+    public void setEntityStream(InputStream input) {
+      throw unsupported();
+    }
+  }
+
+  /**
+   * Properties of a request in reused arrays, so a reset request takes its properties again without allocating.
+   */
+  private static final class Properties {
+
+    private static final int CAPACITY = 16;
+
+    private final String[] names = new String[CAPACITY];
+    private final Object[] values = new Object[CAPACITY];
+    private int size;
+
+    Object get(String name) {
+      int index = indexOf(name);
+      return index >= 0 ? values[index] : null;
+    }
+
+    void put(String name, Object value) {
+      int index = indexOf(name);
+      if (index < 0) {
+        index = size++;
+        names[index] = name;
+      }
+      values[index] = value;
+    }
+
+    void remove(String name) {
+      int index = indexOf(name);
+      if (index >= 0) {
+        size--;
+        names[index] = names[size];
+        values[index] = values[size];
+        names[size] = null;
+        values[size] = null;
+      }
+    }
+
+    void clear() {
+      Arrays.fill(names, 0, size, null);
+      Arrays.fill(values, 0, size, null);
+      size = 0;
+    }
+
+    Collection<String> names() {
+      return List.of(Arrays.copyOf(names, size));
+    }
+
+    private int indexOf(String name) {
+      for (int i = 0; i < size; i++) {
+        if (names[i].equals(name)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private static final class Uri implements UriInfo {
+
+    private final String path;
+
+    private Uri(String path) {
+      this.path = path;
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public String getPath(boolean decode) {
+      return path;
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments() {
+      throw unsupported();
+    }
+
+    @Override
+    public List<PathSegment> getPathSegments(boolean decode) {
+      throw unsupported();
+    }
+
+    @Override
+    public URI getRequestUri() {
+      return URI.create(path);
+    }
+
+    @Override
+    public UriBuilder getRequestUriBuilder() {
+      throw unsupported();
+    }
+
+    @Override
+    public URI getAbsolutePath() {
+      return URI.create(path);
+    }
+
+    @Override
+    public UriBuilder getAbsolutePathBuilder() {
+      throw unsupported();
+    }
+
+    @Override
+    public URI getBaseUri() {
+      return URI.create("/");
+    }
+
+    @Override
+    public UriBuilder getBaseUriBuilder() {
+      throw unsupported();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters() {
+      return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getPathParameters(boolean decode) {
+      return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters() {
+      return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
+      return new MultivaluedHashMap<>();
+    }
+
+    @Override
+    public List<String> getMatchedURIs() {
+      return List.of();
+    }
+
+    @Override
+    public List<String> getMatchedURIs(boolean decode) {
+      return List.of();
+    }
+
+    @Override
+    public List<Object> getMatchedResources() {
+      return List.of();
+    }
+
+    @Override
+    public URI resolve(URI uri) {
+      throw unsupported();
+    }
+
+    @Override
+    public URI relativize(URI uri) {
+      throw unsupported();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientRequestFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientResponseFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceRequestFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceResponseFilter;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole work of the extension for a request: the server request and response filters, and the client request and response filters
+ * of a dependency call. The contexts are plain JAX-RS implementations, so the route templates resolved from RESTEasy Reactive are
+ * replaced by the request path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterPairBenchmark {
+
+  private final MetricsServiceRequestFilter serviceRequestFilter = new MetricsServiceRequestFilter();
+  private final MetricsServiceResponseFilter serviceResponseFilter = new MetricsServiceResponseFilter();
+  private final MetricsClientRequestFilter clientRequestFilter = new MetricsClientRequestFilter();
+  private final MetricsClientResponseFilter clientResponseFilter = new MetricsClientResponseFilter();
+
+  private Contexts.ServerRequest request;
+  private Contexts.ServerResponse response;
+  private Contexts.ClientRequest clientRequest;
+  private Contexts.ClientResponse clientResponse;
+
+  @Setup
+  public void setup() {
+    BenchmarkMetrics.install();
+    request = new Contexts.ServerRequest("GET", "/users/42");
+    response = new Contexts.ServerResponse(200);
+    clientRequest = new Contexts.ClientRequest("GET", URI.create("http://localhost:8080/accounts/42"));
+    clientResponse = new Contexts.ClientResponse(200);
+  }
+
+  @Benchmark
+  public void serverFilters() throws IOException {
+    request.reset();
+    serviceRequestFilter.filter(request);
+    serviceResponseFilter.filter(request, response);
+  }
+
+  @Benchmark
+  public void clientFilters() {
+    clientRequest.reset();
+    clientRequestFilter.filter(clientRequest);
+    clientResponseFilter.filter(clientRequest, clientResponse);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void serverFiltersContended() throws IOException {
+    serverFilters();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void clientFiltersContended() {
+    clientFilters();
+  }
+}
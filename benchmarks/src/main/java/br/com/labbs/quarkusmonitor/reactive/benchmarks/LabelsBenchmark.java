@@ -0,0 +1,102 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import br.com.labbs.quarkusmonitor.reactive.MonitorMetrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
+import java.net.URI;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Label extraction, path resolution and exclusion matching done by the filters for every request, and the elapsed time helpers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LabelsBenchmark {
+
+  private Contexts.ServerRequest request;
+  private Contexts.ServerResponse response;
+  private Contexts.ClientRequest clientRequest;
+  private Contexts.ClientRequest clientRequestWithTemplate;
+  private Contexts.ClientResponse clientResponse;
+  private Instant start;
+  private long startNanos;
+
+  @Setup
+  public void setup() {
+    BenchmarkMetrics.install();
+    request = new Contexts.ServerRequest("GET", "/users/42");
+    request.setProperty(FilterUtils.PATH_WITH_PARAM_ID, "/users/{id}");
+    response = new Contexts.ServerResponse(200);
+    clientRequest = new Contexts.ClientRequest("GET", URI.create("http://localhost:8080/accounts/42"));
+    clientRequestWithTemplate = new Contexts.ClientRequest("GET", URI.create("http://localhost:8080/accounts/42"));
+    clientRequestWithTemplate.setProperty(FilterUtils.URL_PATH_TEMPLATE, "/accounts/{id}");
+    clientResponse = new Contexts.ClientResponse(200);
+    start = Instant.now();
+    startNanos = System.nanoTime();
+  }
+
+  @Benchmark
+  public String[] extractServerLabels() {
+    return TagsUtil.extractLabelValues(request, response);
+  }
+
+  @Benchmark
+  public String[] fillServerLabels() {
+    return TagsUtil.fillLabelValues(TagsUtil.requestLabelHolder(), request, response);
+  }
+
+  @Benchmark
+  public String[] extractClientLabels() {
+    return TagsUtil.extractLabelValues("accounts", clientRequest, clientResponse, "/accounts/{id}");
+  }
+
+  @Benchmark
+  public String[] fillClientLabels() {
+    return TagsUtil.fillLabelValues(TagsUtil.dependencyLabelHolder(), "accounts", clientRequest, clientResponse, "/accounts/{id}");
+  }
+
+  @Benchmark
+  public String toPathWithParamIdFromTemplate() {
+    return FilterUtils.toPathWithParamId(clientRequestWithTemplate);
+  }
+
+  @Benchmark
+  public String toPathWithParamIdFromUri() {
+    return FilterUtils.toPathWithParamId(clientRequest);
+  }
+
+  @Benchmark
+  public boolean validPath() {
+    return FilterUtils.validPath("/users/{id}");
+  }
+
+  @Benchmark
+  public boolean validPathExcluded() {
+    return FilterUtils.validPath("/metrics");
+  }
+
+  @Benchmark
+  public double calcTimeElapsedInSeconds() {
+    return MonitorMetrics.calcTimeElapsedInSeconds(start);
+  }
+
+  @Benchmark
+  public long calcTimeElapsedInNanos() {
+    return MonitorMetrics.calcTimeElapsedInNanos(startNanos);
+  }
+}
@@ -0,0 +1,82 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recording of request_seconds and dependency_request_seconds when the registry already holds the given number of series, each
+ * operation updating the next existing series. The series limit is disabled so the largest case is not folded into the overflow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dquarkus.b5.monitor.max-series=0")
+@State(Scope.Benchmark)
+public class MetricsRecordingBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  int series;
+
+  private String[][] requestLabels;
+  private String[][] dependencyLabels;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int next;
+
+    int next(int size) {
+      next = next + 1 == size ? 0 : next + 1;
+      return next;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BenchmarkMetrics.install();
+    requestLabels = new String[series][];
+    dependencyLabels = new String[series][];
+    for (int i = 0; i < series; i++) {
+      requestLabels[i] = new String[]{"http", "200", "GET", "/resource/" + i + "/{id}", "false", ""};
+      dependencyLabels[i] = new String[]{"dependency-" + (i % 10), "http", "200", "GET", "/api/" + i + "/{id}", "false", ""};
+      Metrics.requestSeconds(requestLabels[i], 0.01);
+      Metrics.dependencyRequestSeconds(dependencyLabels[i], 0.01);
+    }
+  }
+
+  @Benchmark
+  public void requestSeconds(Cursor cursor) {
+    Metrics.requestSeconds(requestLabels[cursor.next(series)], 0.012);
+  }
+
+  @Benchmark
+  public void dependencyRequestSeconds(Cursor cursor) {
+    Metrics.dependencyRequestSeconds(dependencyLabels[cursor.next(series)], 0.012);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void requestSecondsContended(Cursor cursor) {
+    Metrics.requestSeconds(requestLabels[cursor.next(series)], 0.012);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void dependencyRequestSecondsContended(Cursor cursor) {
+    Metrics.dependencyRequestSeconds(dependencyLabels[cursor.next(series)], 0.012);
+  }
+}
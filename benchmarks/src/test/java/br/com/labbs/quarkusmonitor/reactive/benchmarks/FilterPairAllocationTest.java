@@ -0,0 +1,85 @@
+package br.com.labbs.quarkusmonitor.reactive.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientRequestFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientResponseFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceRequestFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceResponseFilter;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Once the meters exist and the filters are compiled, a request through the server filters and a call through the client filters
+ * allocate no more than the timing object each one keeps in its properties.
+ */
+class FilterPairAllocationTest {
+
+  private static final int ITERATIONS = 100_000;
+  private static final int MAX_ROUNDS = 50;
+  // the timing of a call: object header, start time, in-flight counter and release flag
+  private static final long BUDGET_BYTES = 32;
+
+  private final MetricsServiceRequestFilter serviceRequestFilter = new MetricsServiceRequestFilter();
+  private final MetricsServiceResponseFilter serviceResponseFilter = new MetricsServiceResponseFilter();
+  private final MetricsClientRequestFilter clientRequestFilter = new MetricsClientRequestFilter();
+  private final MetricsClientResponseFilter clientResponseFilter = new MetricsClientResponseFilter();
+
+  private ThreadMXBean bean;
+
+  @BeforeEach
+  void setUp() {
+    bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+    BenchmarkMetrics.install();
+  }
+
+  @Test
+  void serverFilterPairStaysWithinBudget() throws Exception {
+    var request = new Contexts.ServerRequest("GET", "/users/42");
+    var response = new Contexts.ServerResponse(200);
+
+    assertWithinBudget(() -> {
+      request.reset();
+      serviceRequestFilter.filter(request);
+      serviceResponseFilter.filter(request, response);
+    });
+  }
+
+  @Test
+  void clientFilterPairStaysWithinBudget() throws Exception {
+    var request = new Contexts.ClientRequest("GET", URI.create("http://localhost:8080/accounts/42"));
+    var response = new Contexts.ClientResponse(200);
+
+    assertWithinBudget(() -> {
+      request.reset();
+      clientRequestFilter.filter(request);
+      clientResponseFilter.filter(request, response);
+    });
+  }
+
+  private void assertWithinBudget(FilterPair pair) throws Exception {
+    long threadId = Thread.currentThread().getId();
+
+    // the first rounds warm the JIT up, the filters must then stay within the budget
+    long perPair = Long.MAX_VALUE;
+    for (int round = 0; round < MAX_ROUNDS && perPair > BUDGET_BYTES; round++) {
+      long before = bean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < ITERATIONS; i++) {
+        pair.run();
+      }
+      perPair = (bean.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+    assertTrue(perPair <= BUDGET_BYTES, "allocated " + perPair + " bytes by filter pair");
+  }
+
+  @FunctionalInterface
+  private interface FilterPair {
+
+    void run() throws Exception;
+  }
+}
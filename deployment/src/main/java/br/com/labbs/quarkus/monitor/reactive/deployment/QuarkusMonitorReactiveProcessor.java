@@ -1,24 +1,84 @@
 package br.com.labbs.quarkus.monitor.reactive.deployment;
 
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BooleanSupplier;
 
+import jakarta.ws.rs.Priorities;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.logging.Logger;
+
 import br.com.labbs.quarkusmonitor.reactive.config.MetricsB5Configuration;
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MonitorRecorder;
 import br.com.labbs.quarkusmonitor.reactive.core.StartMetrics;
 import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientRequestFilter;
 import br.com.labbs.quarkusmonitor.reactive.filter.MetricsClientResponseFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsPhaseInterceptor;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsRequestSizeInterceptor;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsResponseSizeInterceptor;
 import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceRequestFilter;
 import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceResponseFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsStreamingCustomizer;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsStreamingInterceptor;
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependency;
+import br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependencyInterceptor;
+import br.com.labbs.quarkusmonitor.reactive.util.KnownEndpoint;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencies;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencyDescriptor;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptor;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptors;
+import br.com.labbs.quarkusmonitor.reactive.util.RouteTemplates;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.arc.deployment.BeanContainerBuildItem;
+import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.BuildSteps;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
-import io.quarkus.resteasy.common.spi.ResteasyJaxrsProviderBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+import io.quarkus.resteasy.reactive.server.spi.GlobalHandlerCustomizerBuildItem;
+import io.quarkus.resteasy.reactive.spi.ContainerRequestFilterBuildItem;
+import io.quarkus.resteasy.reactive.spi.ContainerResponseFilterBuildItem;
+import io.quarkus.resteasy.reactive.spi.ReaderInterceptorBuildItem;
+import io.quarkus.resteasy.reactive.spi.WriterInterceptorBuildItem;
+import io.quarkus.vertx.http.deployment.FilterBuildItem;
 
 @BuildSteps(onlyIf = QuarkusMonitorReactiveProcessor.IsEnabled.class)
 class QuarkusMonitorReactiveProcessor {
 
+	private static final Logger LOG = Logger.getLogger(QuarkusMonitorReactiveProcessor.class);
+
 	private static final String FEATURE = "quarkus-monitor-reactive";
 
+	private static final DotName PATH = DotName.createSimple("jakarta.ws.rs.Path");
+	private static final DotName NAMED = DotName.createSimple("jakarta.inject.Named");
+	private static final DotName REGISTER_REST_CLIENT = DotName.createSimple("org.eclipse.microprofile.rest.client.inject.RegisterRestClient");
+	private static final DotName TAG_VALUES_REST_CLIENT = DotName.createSimple(TagValuesRestClient.class.getName());
+	private static final DotName MONITORED_DEPENDENCY = DotName.createSimple(MonitoredDependency.class.getName());
+	private static final List<DotName> HTTP_METHODS = List.of(
+			DotName.createSimple("jakarta.ws.rs.GET"),
+			DotName.createSimple("jakarta.ws.rs.POST"),
+			DotName.createSimple("jakarta.ws.rs.PUT"),
+			DotName.createSimple("jakarta.ws.rs.DELETE"),
+			DotName.createSimple("jakarta.ws.rs.PATCH"),
+			DotName.createSimple("jakarta.ws.rs.HEAD"),
+			DotName.createSimple("jakarta.ws.rs.OPTIONS"));
+
 	@BuildStep
 	FeatureBuildItem feature() {
 		return new FeatureBuildItem(FEATURE);
@@ -30,8 +90,17 @@ class QuarkusMonitorReactiveProcessor {
 	}
 	
 	@BuildStep
-	AdditionalBeanBuildItem registerMetricsServiceFilter() {
-		return new AdditionalBeanBuildItem.Builder().setUnremovable().addBeanClass(MetricsServiceRequestFilter.class).build();
+	AdditionalBeanBuildItem registerMetrics() {
+		return new AdditionalBeanBuildItem.Builder().setUnremovable().addBeanClass(B5Metrics.class).build();
+	}
+
+	/**
+	 * The server filters are registered here rather than discovered as providers, so they are absent when the extension is disabled.
+	 */
+	@BuildStep
+	ContainerRequestFilterBuildItem registerMetricsServiceFilter() {
+		return new ContainerRequestFilterBuildItem.Builder(MetricsServiceRequestFilter.class.getName())
+				.setPriority(Priorities.AUTHENTICATION).build();
 	}
 	
 	@BuildStep
@@ -41,8 +110,9 @@ class QuarkusMonitorReactiveProcessor {
 	
 
 	@BuildStep
-	AdditionalBeanBuildItem registerMetricsServiceResponseFilter() {
-		return new AdditionalBeanBuildItem.Builder().setUnremovable().addBeanClass(MetricsServiceResponseFilter.class).build();
+	ContainerResponseFilterBuildItem registerMetricsServiceResponseFilter() {
+		return new ContainerResponseFilterBuildItem.Builder(MetricsServiceResponseFilter.class.getName())
+				.setPriority(Priorities.AUTHENTICATION).build();
 	}
 	
 	@BuildStep
@@ -50,6 +120,293 @@ class QuarkusMonitorReactiveProcessor {
 		return new AdditionalBeanBuildItem.Builder().setUnremovable().addBeanClass(MetricsClientResponseFilter.class).build();
 	}
 	
+	/**
+	 * Only installed when enabled: any writer interceptor takes the responses off the fast path of the writers.
+	 */
+	@BuildStep
+	void registerMetricsResponseSizeInterceptor(MetricsB5Configuration configuration,
+			BuildProducer<WriterInterceptorBuildItem> writerInterceptors) {
+		if (configuration.enableHttpResponseSize()) {
+			writerInterceptors.produce(new WriterInterceptorBuildItem.Builder(MetricsResponseSizeInterceptor.class.getName()).build());
+		}
+	}
+
+	@BuildStep
+	void registerMetricsRequestSizeInterceptor(MetricsB5Configuration configuration,
+			BuildProducer<ReaderInterceptorBuildItem> readerInterceptors) {
+		if (configuration.enableHttpRequestSize()) {
+			readerInterceptors.produce(new ReaderInterceptorBuildItem.Builder(MetricsRequestSizeInterceptor.class.getName()).build());
+		}
+	}
+
+	@BuildStep
+	void registerMetricsStreamingInterceptor(MetricsB5Configuration configuration,
+			BuildProducer<WriterInterceptorBuildItem> writerInterceptors,
+			BuildProducer<GlobalHandlerCustomizerBuildItem> handlerCustomizers) {
+		if (configuration.streamingCompletion().enabled()) {
+			writerInterceptors.produce(new WriterInterceptorBuildItem.Builder(MetricsStreamingInterceptor.class.getName()).build());
+			handlerCustomizers.produce(new GlobalHandlerCustomizerBuildItem(new MetricsStreamingCustomizer()));
+		}
+	}
+
+	@BuildStep
+	void registerMetricsPhaseInterceptor(MetricsB5Configuration configuration,
+			BuildProducer<WriterInterceptorBuildItem> writerInterceptors) {
+		if (configuration.phaseBreakdown().enabled()) {
+			writerInterceptors.produce(new WriterInterceptorBuildItem.Builder(MetricsPhaseInterceptor.class.getName()).build());
+		}
+	}
+
+	@BuildStep
+	AdditionalBeanBuildItem registerMonitoredDependencyInterceptor() {
+		return new AdditionalBeanBuildItem.Builder().setUnremovable()
+				.addBeanClasses(MonitoredDependency.class, MonitoredDependencyInterceptor.class).build();
+	}
+
+	/**
+	 * Binds the static metrics API to the metrics bean once the beans are available, instead of a lookup in a static initializer.
+	 */
+	@BuildStep
+	@Record(ExecutionTime.RUNTIME_INIT)
+	void initMetrics(BeanContainerBuildItem beanContainer, MonitorRecorder recorder) {
+		recorder.initMetrics(beanContainer.getValue());
+	}
+
+	/**
+	 * Annotations read by the runtime fallbacks, for rest clients created with the builder and monitored dependencies not in the
+	 * index, have to be reachable by reflection in a native image.
+	 */
+	@BuildStep
+	void registerForReflection(CombinedIndexBuildItem combinedIndex, BuildProducer<ReflectiveClassBuildItem> reflectiveClasses) {
+		IndexView index = combinedIndex.getIndex();
+		Set<String> classes = new LinkedHashSet<>();
+
+		for (DotName annotationName : List.of(REGISTER_REST_CLIENT, TAG_VALUES_REST_CLIENT, MONITORED_DEPENDENCY)) {
+			for (AnnotationInstance annotation : index.getAnnotations(annotationName)) {
+				if (annotation.target().kind() == AnnotationTarget.Kind.CLASS) {
+					classes.add(annotation.target().asClass().name().toString());
+				} else if (annotation.target().kind() == AnnotationTarget.Kind.METHOD) {
+					classes.add(annotation.target().asMethod().declaringClass().name().toString());
+				}
+			}
+		}
+
+		if (!classes.isEmpty()) {
+			reflectiveClasses.produce(ReflectiveClassBuildItem.builder(classes.toArray(new String[0])).methods().build());
+		}
+		reflectiveClasses.produce(ReflectiveClassBuildItem.builder(TagValuesRestClient.class, MonitoredDependency.class).methods().build());
+	}
+
+	/**
+	 * Router level instrumentation, ahead of the other filters so the measure covers them.
+	 */
+	@BuildStep
+	@Record(ExecutionTime.RUNTIME_INIT)
+	void registerRouteMetricsHandler(MetricsB5Configuration configuration, MonitorRecorder recorder,
+			BuildProducer<FilterBuildItem> filters) {
+		if (configuration.vertxRoutes().enabled()) {
+			filters.produce(new FilterBuildItem(recorder.routeMetricsHandler(), FilterBuildItem.CORS + 100));
+		}
+	}
+
+	/**
+	 * Arrival stamp of the phase breakdown, ahead of every other filter.
+	 */
+	@BuildStep
+	@Record(ExecutionTime.RUNTIME_INIT)
+	void registerArrivalHandler(MetricsB5Configuration configuration, MonitorRecorder recorder,
+			BuildProducer<FilterBuildItem> filters) {
+		if (configuration.phaseBreakdown().enabled()) {
+			filters.produce(new FilterBuildItem(recorder.arrivalHandler(), FilterBuildItem.CORS + 200));
+		}
+	}
+
+	@BuildStep
+	@Record(ExecutionTime.STATIC_INIT)
+	void registerRouteTemplates(CombinedIndexBuildItem combinedIndex, MetricsB5Configuration configuration,
+			MonitorRecorder recorder) {
+		IndexView index = combinedIndex.getIndex();
+		Map<String, String> templates = new HashMap<>();
+		Map<String, KnownEndpoint> warmupRoutes = new HashMap<>();
+
+		for (DotName httpMethod : HTTP_METHODS) {
+			for (AnnotationInstance annotation : index.getAnnotations(httpMethod)) {
+				if (annotation.target().kind() != AnnotationTarget.Kind.METHOD) {
+					continue;
+				}
+				MethodInfo method = annotation.target().asMethod();
+				for (ClassInfo resourceClass : resourceClasses(index, method.declaringClass())) {
+					String template = routeTemplate(resourceClass, method);
+					String key = RouteTemplates.key(resourceClass.name().toString(), method.name(), parameterTypes(method),
+							httpMethod.withoutPackagePrefix());
+					String previous = templates.get(key);
+					// a method declared in the resource class overrides the annotations it inherits
+					if (previous == null || method.declaringClass().equals(resourceClass)) {
+						templates.put(key, template);
+					} else if (!previous.equals(template)) {
+						LOG.warnf("Resource method %s has the route templates %s and %s, using %s", key, previous, template, previous);
+					}
+					warmupRoutes.put(httpMethod.withoutPackagePrefix() + ' ' + template,
+							new KnownEndpoint(null, httpMethod.withoutPackagePrefix(), template));
+				}
+			}
+		}
+
+		recorder.registerRouteTemplates(templates);
+		if (configuration.warmup().enabled()) {
+			recorder.registerWarmupRoutes(new ArrayList<>(warmupRoutes.values()));
+		}
+	}
+
+	/**
+	 * The declaring class and the classes inheriting its resource methods, which are the ones seen as resource class at runtime.
+	 */
+	private static List<ClassInfo> resourceClasses(IndexView index, ClassInfo declaringClass) {
+		List<ClassInfo> classes = new ArrayList<>();
+		classes.add(declaringClass);
+		if (declaringClass.isInterface()) {
+			classes.addAll(index.getAllKnownImplementors(declaringClass.name()));
+		} else {
+			classes.addAll(index.getAllKnownSubclasses(declaringClass.name()));
+		}
+		return classes;
+	}
+
+	/**
+	 * Same template built by the request filter at runtime: the class path followed by the method path, which JAX-RS starts with a
+	 * slash, without trailing slash, and "/" when absent.
+	 */
+	private static String routeTemplate(ClassInfo resourceClass, MethodInfo method) {
+		AnnotationInstance classPath = resourceClass.declaredAnnotation(PATH);
+		if (classPath == null) {
+			classPath = method.declaringClass().declaredAnnotation(PATH);
+		}
+		AnnotationInstance methodPath = method.declaredAnnotation(PATH);
+
+		String pathClass = classPath != null ? classPath.value().asString() : "";
+		String pathMethod = "/";
+		if (methodPath != null) {
+			pathMethod = methodPath.value().asString();
+			if (!pathMethod.startsWith("/")) {
+				pathMethod = "/" + pathMethod;
+			}
+			if (pathMethod.length() > 1 && pathMethod.endsWith("/")) {
+				pathMethod = pathMethod.substring(0, pathMethod.length() - 1);
+			}
+		}
+
+		return (pathClass + pathMethod).replace("//", "/");
+	}
+
+	@BuildStep
+	@Record(ExecutionTime.STATIC_INIT)
+	void registerRestClients(CombinedIndexBuildItem combinedIndex, MetricsB5Configuration configuration,
+			MonitorRecorder recorder) {
+		IndexView index = combinedIndex.getIndex();
+		Map<String, RestClientDescriptor> descriptors = new HashMap<>();
+		List<KnownEndpoint> warmupClients = new ArrayList<>();
+
+		for (AnnotationInstance registerRestClient : index.getAnnotations(REGISTER_REST_CLIENT)) {
+			if (registerRestClient.target().kind() != AnnotationTarget.Kind.CLASS) {
+				continue;
+			}
+			ClassInfo clientClass = registerRestClient.target().asClass();
+			String named = stringValue(clientClass.declaredAnnotation(NAMED), "value");
+			String classPath = stringValue(clientClass.declaredAnnotation(PATH), "value");
+
+			for (MethodInfo method : clientClass.methods()) {
+				if (method.name().startsWith("<")) {
+					continue;
+				}
+				AnnotationInstance tagValues = method.declaredAnnotation(TAG_VALUES_REST_CLIENT);
+				RestClientDescriptor descriptor = RestClientDescriptors.descriptor(
+						clientClass.name().toString().replace('$', '.'),
+						named,
+						stringValue(tagValues, "name"),
+						stringValue(tagValues, "address"),
+						classPath,
+						stringValue(method.declaredAnnotation(PATH), "value"));
+				descriptors.put(methodKey(method), descriptor);
+
+				String address = descriptor.getAddress() != null ? descriptor.getAddress() : descriptor.getMethodAddress();
+				String httpMethod = httpMethod(method);
+				if (address != null && httpMethod != null) {
+					warmupClients.add(new KnownEndpoint(descriptor.getName(), httpMethod, address));
+				}
+			}
+		}
+
+		recorder.registerRestClients(descriptors);
+		if (configuration.warmup().enabled()) {
+			recorder.registerWarmupClients(warmupClients);
+		}
+	}
+
+	@BuildStep
+	@Record(ExecutionTime.STATIC_INIT)
+	void registerMonitoredDependencies(CombinedIndexBuildItem combinedIndex, MonitorRecorder recorder) {
+		IndexView index = combinedIndex.getIndex();
+		Map<String, MonitoredDependencyDescriptor> descriptors = new HashMap<>();
+
+		for (AnnotationInstance annotation : index.getAnnotations(MONITORED_DEPENDENCY)) {
+			if (annotation.target().kind() == AnnotationTarget.Kind.METHOD) {
+				MethodInfo method = annotation.target().asMethod();
+				descriptors.put(methodKey(method), monitoredDependency(annotation, method));
+			} else if (annotation.target().kind() == AnnotationTarget.Kind.CLASS) {
+				for (MethodInfo method : annotation.target().asClass().methods()) {
+					if (isBusinessMethod(method) && method.declaredAnnotation(MONITORED_DEPENDENCY) == null) {
+						descriptors.put(methodKey(method), monitoredDependency(annotation, method));
+					}
+				}
+			}
+		}
+
+		recorder.registerMonitoredDependencies(descriptors);
+	}
+
+	private static String httpMethod(MethodInfo method) {
+		for (DotName httpMethod : HTTP_METHODS) {
+			if (method.hasDeclaredAnnotation(httpMethod)) {
+				return httpMethod.withoutPackagePrefix();
+			}
+		}
+		return null;
+	}
+
+	private static boolean isBusinessMethod(MethodInfo method) {
+		return !method.name().startsWith("<") && !method.isSynthetic()
+				&& !Modifier.isStatic(method.flags()) && !Modifier.isPrivate(method.flags());
+	}
+
+	private static String methodKey(MethodInfo method) {
+		return RestClientDescriptors.key(method.declaringClass().name().toString(), method.name(), parameterTypes(method));
+	}
+
+	private static String[] parameterTypes(MethodInfo method) {
+		String[] parameterTypes = new String[method.parametersCount()];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			parameterTypes[i] = method.parameterType(i).name().toString();
+		}
+		return parameterTypes;
+	}
+
+	private static MonitoredDependencyDescriptor monitoredDependency(AnnotationInstance annotation, MethodInfo method) {
+		return MonitoredDependencies.descriptor(
+				stringValue(annotation, "name"),
+				stringValue(annotation, "type"),
+				stringValue(annotation, "method"),
+				stringValue(annotation, "address"),
+				method.name(),
+				method.returnType().name().toString());
+	}
+
+	private static String stringValue(AnnotationInstance annotation, String name) {
+		if (annotation == null || annotation.value(name) == null) {
+			return null;
+		}
+		return annotation.value(name).asString();
+	}
+
 	static class IsEnabled implements BooleanSupplier {
 		MetricsB5Configuration configuration;
 
@@ -0,0 +1,73 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The idle drainer parks without a timeout and is woken up by the next published event.
+ */
+class AsyncRecordingTest {
+
+  private static final String[] LABELS = {"http", "200", "GET", "/async", "false", ""};
+
+  @Test
+  void idleDrainerIsWokenUpByProducers() throws Exception {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().asyncRecording(true, 1024, true).build());
+    try {
+      metrics.requestNanos(LABELS, 1_000);
+      awaitCount(registry, 1);
+
+      var drainer = drainer();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+      while (drainer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertEquals(Thread.State.WAITING, drainer.getState());
+
+      for (int i = 0; i < 100; i++) {
+        Thread.sleep(i % 10 == 0 ? 5 : 0);
+        metrics.requestNanos(LABELS, 1_000);
+      }
+      awaitCount(registry, 101);
+    } finally {
+      metrics.shutdown();
+    }
+  }
+
+  @Test
+  void shutdownStopsTheParkedDrainer() throws Exception {
+    var metrics = new B5Metrics(new SimpleMeterRegistry(), MetricsSettings.builder().asyncRecording(true, 1024, true).build());
+    var drainer = drainer();
+    Thread.sleep(20);
+    metrics.shutdown();
+    drainer.join(1_000);
+    assertFalse(drainer.isAlive());
+  }
+
+  private static Thread drainer() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(t -> t.getName().equals("b5-metrics-recorder") && t.isAlive())
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static void awaitCount(SimpleMeterRegistry registry, long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (count(registry) < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(expected, count(registry));
+  }
+
+  private static long count(SimpleMeterRegistry registry) {
+    var timer = registry.find(B5Metrics.REQUEST).timer();
+    return timer == null ? 0 : timer.count();
+  }
+}
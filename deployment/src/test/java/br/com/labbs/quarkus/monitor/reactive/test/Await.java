@@ -0,0 +1,25 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Polls a condition updated by another thread, like the metrics recorded when the http response ends.
+ */
+final class Await {
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private Await() {
+  }
+
+  static void until(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertTrue(condition.getAsBoolean(), "condition not met within " + TIMEOUT_SECONDS + "s");
+  }
+}
@@ -0,0 +1,158 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.DependencyChecker;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import br.com.labbs.quarkusmonitor.reactive.model.DependencyState;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Blocking checkers run in a thread of their own, report a hung call as down and never start a second call while it runs.
+ */
+class BlockingDependencyCheckerTest {
+
+  private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final Duration TIMEOUT = Duration.ofMillis(50);
+
+  private SimpleMeterRegistry registry;
+  private ScheduledExecutorService scheduler;
+
+  @BeforeEach
+  void bind() {
+    registry = new SimpleMeterRegistry();
+    Metrics.bind(new B5Metrics(registry, MetricsSettings.builder().build()));
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  void stop() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void timeoutReportsDown() throws Exception {
+    var release = new CountDownLatch(1);
+    var checker = start("hung", () -> {
+      await(release);
+      return DependencyState.UP;
+    });
+    try {
+      awaitTrue(() -> checks("hung", "timeout") > 0);
+      assertEquals(0, up("hung"));
+    } finally {
+      checker.cancel();
+      release.countDown();
+    }
+  }
+
+  @Test
+  void checksAreTaggedWithTheirResult() throws Exception {
+    var checkers = new DependencyChecker[]{
+        start("up", () -> DependencyState.UP),
+        start("down", () -> DependencyState.DOWN),
+        start("error", () -> {
+          throw new IllegalStateException("unreachable");
+        })};
+    try {
+      awaitTrue(() -> checks("up", "up") > 0 && checks("down", "down") > 0 && checks("error", "error") > 0);
+      assertEquals(1, up("up"));
+      assertEquals(0, up("down"));
+      assertEquals(0, up("error"));
+    } finally {
+      for (var checker : checkers) {
+        checker.cancel();
+      }
+    }
+  }
+
+  @Test
+  void hungProbeDoesNotStartAnotherCall() throws Exception {
+    var release = new CountDownLatch(1);
+    var calls = new AtomicInteger();
+    var thread = new AtomicReference<String>();
+    var checker = start("slow", () -> {
+      calls.incrementAndGet();
+      thread.set(Thread.currentThread().getName());
+      await(release);
+      return DependencyState.UP;
+    });
+    try {
+      awaitTrue(() -> checks("slow", "skipped") >= 3);
+      assertEquals(1, calls.get());
+      assertEquals(0, up("slow"));
+      assertTrue(thread.get().startsWith("b5-dependency-probe-"), thread.get());
+
+      release.countDown();
+      awaitTrue(() -> calls.get() > 1 && up("slow") == 1);
+    } finally {
+      checker.cancel();
+      release.countDown();
+    }
+  }
+
+  @Test
+  void cancelInterruptsTheHungCall() throws Exception {
+    var interrupted = new CountDownLatch(1);
+    var started = new CountDownLatch(1);
+    var checker = start("cancelled", () -> {
+      started.countDown();
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return DependencyState.UP;
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    checker.cancel();
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  private DependencyChecker start(String name, Supplier<DependencyState> task) {
+    var checker = DependencyChecker.blocking(name, task, PERIOD, TIMEOUT, scheduler, false);
+    checker.start(0);
+    return checker;
+  }
+
+  private long checks(String name, String result) {
+    Timer timer = registry.find(B5Metrics.DEPENDENCY_CHECK).tag("name", name).tag("result", result).timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private double up(String name) {
+    return registry.get(B5Metrics.DEPENDENCY_UP).tag("name", name).gauge().value();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
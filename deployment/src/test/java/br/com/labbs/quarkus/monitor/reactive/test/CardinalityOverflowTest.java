@@ -0,0 +1,113 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CardinalityOverflowTest {
+
+  private static final String OVERFLOW = "__overflow__";
+
+  @Test
+  void foldedSeriesAreCountedOnce() {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().maxSeries(2).build());
+
+    for (int round = 0; round < 100; round++) {
+      for (int i = 0; i < 10; i++) {
+        metrics.requestNanos(new String[]{"http", "200", "GET", "/route/" + i, "false", ""}, 1_000);
+      }
+    }
+
+    assertEquals(8, registry.get("cardinality_overflow").tag("metric", B5Metrics.REQUEST).tag("label", "addr").counter().count());
+    assertEquals(800, registry.get(B5Metrics.REQUEST).tag("addr", OVERFLOW).timer().count());
+  }
+
+  @Test
+  void labelCapHoldsUnderConcurrentNewValues() throws Exception {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().maxLabelValues(Map.of("addr", 5)).build());
+    var next = new AtomicInteger();
+
+    ConcurrentRequests.run(100, () -> {
+      metrics.requestNanos(new String[]{"http", "200", "GET", "/route/" + next.getAndIncrement(), "false", ""}, 1_000);
+      return null;
+    });
+
+    // the 5 accepted values and the overflow series
+    assertEquals(6, registry.find(B5Metrics.REQUEST).timers().size());
+  }
+
+  @Test
+  void inflightGaugesAreLimited() {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().maxSeries(3).build());
+
+    for (int i = 0; i < 10; i++) {
+      metrics.requestInflight("/route/" + i).increment();
+    }
+
+    assertEquals(4, registry.find(B5Metrics.REQUEST_INFLIGHT).gauges().size());
+    assertEquals(7, registry.get(B5Metrics.REQUEST_INFLIGHT).tag("addr", OVERFLOW).gauge().value());
+  }
+
+  @Test
+  void removedMeterIsRecordedAgain() {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().build());
+    metrics.requestNanos(request("/removed"), 1_000);
+    var removed = registry.get(B5Metrics.REQUEST).tag("addr", "/removed").timer();
+
+    registry.remove(removed);
+    metrics.requestNanos(request("/removed"), 1_000);
+
+    var recreated = registry.get(B5Metrics.REQUEST).tag("addr", "/removed").timer();
+    assertNotSame(removed, recreated);
+    assertEquals(1, recreated.count());
+  }
+
+  @Test
+  void removingASeriesKeepsTheAliasesOfTheOthers() {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().maxSeries(2).build());
+    for (int i = 0; i < 4; i++) {
+      metrics.requestNanos(request("/route/" + i), 1_000);
+    }
+
+    // leaves room for a new series
+    registry.remove(registry.get(B5Metrics.REQUEST).tag("addr", "/route/0").timer());
+    registry.remove(registry.get(B5Metrics.REQUEST).tag("addr", "/route/1").timer());
+    metrics.requestNanos(request("/route/2"), 1_000);
+    metrics.requestNanos(request("/route/0"), 1_000);
+
+    assertNull(registry.find(B5Metrics.REQUEST).tag("addr", "/route/2").timer());
+    assertEquals(3, registry.get(B5Metrics.REQUEST).tag("addr", OVERFLOW).timer().count());
+    assertEquals(1, registry.get(B5Metrics.REQUEST).tag("addr", "/route/0").timer().count());
+  }
+
+  @Test
+  void removingTheOverflowSeriesDropsItsAliases() {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().maxSeries(2).build());
+    for (int i = 0; i < 4; i++) {
+      metrics.requestNanos(request("/route/" + i), 1_000);
+    }
+
+    registry.remove(registry.get(B5Metrics.REQUEST).tag("addr", OVERFLOW).timer());
+    metrics.requestNanos(request("/route/2"), 1_000);
+
+    assertEquals(3, registry.find(B5Metrics.REQUEST).timers().stream().mapToLong(Timer::count).sum());
+  }
+
+  private static String[] request(String addr) {
+    return new String[]{"http", "200", "GET", addr, "false", ""};
+  }
+}
@@ -0,0 +1,64 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same task from many threads released at once, to hit the recording paths concurrently.
+ */
+final class ConcurrentRequests {
+
+  static final int THREADS = 16;
+
+  private static final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+  private ConcurrentRequests() {
+  }
+
+  static void run(int iterations, Callable<?> task) throws Exception {
+    var start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      var futures = new ArrayList<Future<?>>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          for (int i = 0; i < iterations; i++) {
+            task.call();
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (var future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  static void send(HttpRequest request) throws Exception {
+    var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+    assertEquals(200, response.statusCode(), request.uri().toString());
+  }
+
+  static int status(HttpRequest request) throws Exception {
+    return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  static HttpRequest get(URI uri) {
+    return HttpRequest.newBuilder(uri).GET().build();
+  }
+}
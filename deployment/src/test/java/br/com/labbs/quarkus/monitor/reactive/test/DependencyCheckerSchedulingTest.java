@@ -0,0 +1,88 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.MonitorMetrics;
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import br.com.labbs.quarkusmonitor.reactive.model.DependencyState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The checkers share one scheduler, start within their first period and never overlap with themselves.
+ */
+class DependencyCheckerSchedulingTest {
+
+  @BeforeEach
+  void bind() {
+    Metrics.bind(new B5Metrics(new SimpleMeterRegistry(), MetricsSettings.builder().build()));
+  }
+
+  @AfterEach
+  void cancel() {
+    MonitorMetrics.INSTANCE.cancelAllDependencyCheckers();
+  }
+
+  @Test
+  void checkersShareTheScheduler() throws Exception {
+    var threads = ConcurrentHashMap.<String>newKeySet();
+    var checks = new CountDownLatch(20);
+    for (int i = 0; i < 10; i++) {
+      MonitorMetrics.INSTANCE.addReactiveDependencyChecker("shared-" + i, () -> Uni.createFrom().item(() -> {
+        threads.add(Thread.currentThread().getName());
+        checks.countDown();
+        return DependencyState.UP;
+      }), 5, TimeUnit.MILLISECONDS, Duration.ofSeconds(1));
+    }
+
+    assertTrue(checks.await(5, TimeUnit.SECONDS));
+    assertTrue(threads.size() <= 2, threads.toString());
+    assertTrue(threads.stream().allMatch(name -> name.startsWith("b5-dependency-checker-")), threads.toString());
+  }
+
+  @Test
+  void firstCheckHappensWithinThePeriod() throws Exception {
+    var checked = new CountDownLatch(1);
+    var start = System.nanoTime();
+    MonitorMetrics.INSTANCE.addDependencyChecker("jitter", () -> {
+      checked.countDown();
+      return DependencyState.UP;
+    }, 200, TimeUnit.MILLISECONDS);
+
+    assertTrue(checked.await(5, TimeUnit.SECONDS));
+    assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(400));
+  }
+
+  @Test
+  void slowCheckNeverOverlaps() throws Exception {
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+    var checks = new CountDownLatch(5);
+    MonitorMetrics.INSTANCE.addDependencyChecker("slow", () -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        running.decrementAndGet();
+      }
+      checks.countDown();
+      return DependencyState.UP;
+    }, 1, TimeUnit.MILLISECONDS);
+
+    assertTrue(checks.await(5, TimeUnit.SECONDS));
+    assertEquals(1, maxRunning.get());
+  }
+}
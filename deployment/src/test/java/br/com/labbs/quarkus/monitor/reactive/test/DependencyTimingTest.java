@@ -0,0 +1,40 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.DependencyTiming;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A timing kept by the caller keeps recording into the exported meters after they are removed or the metrics are bound again.
+ */
+class DependencyTimingTest {
+
+  @Test
+  void followsRemovalAndBinding() {
+    var first = new SimpleMeterRegistry();
+    Metrics.bind(new B5Metrics(first, MetricsSettings.builder().build()));
+    var timing = new DependencyTiming("db", "sql", "select", "users");
+
+    timing.record(null, false, 1_000);
+    first.remove(timer(first));
+    timing.record(null, false, 1_000);
+    assertEquals(1, timer(first).count());
+
+    var second = new SimpleMeterRegistry();
+    Metrics.bind(new B5Metrics(second, MetricsSettings.builder().build()));
+    timing.record(null, false, 1_000);
+    assertEquals(1, timer(second).count());
+    assertEquals(1, timer(first).count());
+  }
+
+  private static Timer timer(MeterRegistry registry) {
+    return registry.get(B5Metrics.DEPENDENCY_REQUEST).tag("name", "db").tag("status", "OK").timer();
+  }
+}
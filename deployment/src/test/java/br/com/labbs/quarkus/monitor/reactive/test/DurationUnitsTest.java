@@ -0,0 +1,104 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Durations are recorded in seconds whatever unit they are given in, and the buckets of a custom unit are the same seconds.
+ */
+class DurationUnitsTest {
+
+  private static final double[] BUCKETS = {0.1, 0.5, 5};
+
+  private SimpleMeterRegistry registry;
+  private B5Metrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new B5Metrics(registry, MetricsSettings.builder().build());
+  }
+
+  @Test
+  void nanosAreRecordedAsSeconds() {
+    metrics.requestNanos(request("/nanos"), 1_234_567_890L);
+
+    var timer = timer(B5Metrics.REQUEST, "/nanos");
+    assertEquals(1, timer.count());
+    assertEquals(1.23456789, timer.totalTime(TimeUnit.SECONDS), 1e-12);
+  }
+
+  @Test
+  void secondsAreRecordedAsSeconds() {
+    metrics.requestSeconds(request("/seconds"), 0.25);
+    metrics.dependencyRequestSeconds(dependency("/seconds"), 0.25);
+
+    assertEquals(0.25, timer(B5Metrics.REQUEST, "/seconds").totalTime(TimeUnit.SECONDS), 1e-9);
+    assertEquals(0.25, timer(B5Metrics.DEPENDENCY_REQUEST, "/seconds").totalTime(TimeUnit.SECONDS), 1e-9);
+  }
+
+  @Test
+  void millisecondUnitKeepsTheSeconds() {
+    metrics.requestSeconds(request("/millis"), 0.25, BUCKETS, ChronoUnit.MILLIS);
+
+    var timer = timer(B5Metrics.REQUEST, "/millis");
+    assertEquals(0.25, timer.totalTime(TimeUnit.SECONDS), 1e-9);
+    assertArrayEquals(BUCKETS, buckets(timer));
+    assertArrayEquals(new double[]{0, 1, 1}, counts(timer));
+  }
+
+  @Test
+  void secondUnitKeepsTheSeconds() {
+    metrics.requestSeconds(request("/secs"), 2.5, new double[]{1, 5}, ChronoUnit.SECONDS);
+    metrics.dependencyRequestSeconds(dependency("/secs"), 2.5, new double[]{1, 5}, ChronoUnit.SECONDS);
+
+    for (var timer : new Timer[]{timer(B5Metrics.REQUEST, "/secs"), timer(B5Metrics.DEPENDENCY_REQUEST, "/secs")}) {
+      // whole seconds: the unit is the resolution of the record
+      assertEquals(2, timer.totalTime(TimeUnit.SECONDS), 1e-9);
+      assertArrayEquals(new double[]{1, 5}, buckets(timer));
+      assertArrayEquals(new double[]{0, 1}, counts(timer));
+    }
+  }
+
+  @Test
+  void microsecondUnitKeepsTheSeconds() {
+    metrics.requestSeconds(request("/micros"), 0.0015, new double[]{0.001, 0.002}, ChronoUnit.MICROS);
+
+    var timer = timer(B5Metrics.REQUEST, "/micros");
+    assertEquals(0.0015, timer.totalTime(TimeUnit.SECONDS), 1e-9);
+    assertArrayEquals(new double[]{0.001, 0.002}, buckets(timer), 1e-12);
+    assertArrayEquals(new double[]{0, 1}, counts(timer));
+  }
+
+  private Timer timer(String name, String addr) {
+    return registry.get(name).tag("addr", addr).timer();
+  }
+
+  private static double[] buckets(Timer timer) {
+    return Arrays.stream(timer.takeSnapshot().histogramCounts()).mapToDouble(bucket -> bucket.bucket(TimeUnit.SECONDS))
+        .toArray();
+  }
+
+  private static double[] counts(Timer timer) {
+    return Arrays.stream(timer.takeSnapshot().histogramCounts()).mapToDouble(CountAtBucket::count).toArray();
+  }
+
+  private static String[] request(String addr) {
+    return new String[]{"http", "200", "GET", addr, "false", ""};
+  }
+
+  private static String[] dependency(String addr) {
+    return new String[]{"backend", "http", "200", "GET", addr, "false", ""};
+  }
+}
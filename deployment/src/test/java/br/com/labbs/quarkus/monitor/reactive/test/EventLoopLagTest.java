@@ -0,0 +1,56 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * With event-loop-lag.enabled, an event loop kept busy reports the blocking time in event_loop_lag_seconds once it is released.
+ */
+class EventLoopLagTest {
+
+  private static final Duration BLOCKING = Duration.ofMillis(500);
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(Await.class))
+      .overrideConfigKey("quarkus.b5.monitor.event-loop-lag.enabled", "true")
+      .overrideConfigKey("quarkus.b5.monitor.event-loop-lag.interval", "50ms");
+
+  @Inject
+  Vertx vertx;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void blockedLoopReportsItsLag() throws Exception {
+    var loop = new AtomicReference<String>();
+    var started = new CountDownLatch(1);
+    vertx.getOrCreateContext().runOnContext(ignored -> {
+      loop.set(Thread.currentThread().getName());
+      started.countDown();
+      try {
+        Thread.sleep(BLOCKING.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    started.await(5, TimeUnit.SECONDS);
+
+    // less than the blocking time: the probe may be submitted a little after the loop was blocked
+    var expectedMillis = BLOCKING.toMillis() - 200;
+    Await.until(() -> {
+      var timer = registry.find(B5Metrics.EVENT_LOOP_LAG).tag("loop", loop.get()).timer();
+      return timer != null && timer.max(TimeUnit.MILLISECONDS) >= expectedMillis;
+    });
+  }
+}
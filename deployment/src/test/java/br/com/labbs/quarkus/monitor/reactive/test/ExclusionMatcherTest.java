@@ -0,0 +1,120 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.util.ExclusionMatcher;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Literal, prefix and glob exclusions, matched ignoring case.
+ */
+class ExclusionMatcherTest {
+
+  private static final int ITERATIONS = 100_000;
+  private static final int MAX_ROUNDS = 50;
+
+  @Test
+  void literalMatchesOnlyThePathItself() {
+    var matcher = ExclusionMatcher.compile(List.of("/metrics"));
+
+    assertTrue(matcher.matches("/metrics"));
+    assertFalse(matcher.matches("/metric"));
+    assertFalse(matcher.matches("/metrics/"));
+    assertFalse(matcher.matches("/metrics/jvm"));
+    assertFalse(matcher.matches("/"));
+    assertFalse(matcher.matches(null));
+  }
+
+  @Test
+  void matchIgnoresCase() {
+    var matcher = ExclusionMatcher.compile(List.of("/Metrics", "/HEALTH/**", "/Q/*"));
+
+    assertTrue(matcher.matches("/metrics"));
+    assertTrue(matcher.matches("/METRICS"));
+    assertTrue(matcher.matches("/health/live"));
+    assertTrue(matcher.matches("/Health/Ready"));
+    assertTrue(matcher.matches("/q/info"));
+  }
+
+  @Test
+  void singleStarMatchesOneSegment() {
+    var matcher = ExclusionMatcher.compile(List.of("/q/*"));
+
+    assertTrue(matcher.matches("/q/metrics"));
+    assertTrue(matcher.matches("/q/health"));
+    assertFalse(matcher.matches("/q/health/live"));
+    assertFalse(matcher.matches("/q"));
+    assertFalse(matcher.matches("/query"));
+  }
+
+  @Test
+  void doubleStarMatchesThePrefixAndItsRoot() {
+    var matcher = ExclusionMatcher.compile(List.of("/health/**"));
+
+    assertTrue(matcher.matches("/health"));
+    assertTrue(matcher.matches("/health/"));
+    assertTrue(matcher.matches("/health/live"));
+    assertTrue(matcher.matches("/health/live/details"));
+    assertFalse(matcher.matches("/healthz"));
+    assertFalse(matcher.matches("/healt"));
+    assertFalse(matcher.matches("/api/health"));
+  }
+
+  @Test
+  void mixedRulesMatchEachKind() {
+    var matcher = ExclusionMatcher.compile(List.of("/metrics", " ", "/health/**", "/q/*", "/users/*/avatar", "/static/**/*.css",
+        "/v?/ping"));
+
+    assertTrue(matcher.matches("/metrics"));
+    assertTrue(matcher.matches("/health/live"));
+    assertTrue(matcher.matches("/q/openapi"));
+    assertTrue(matcher.matches("/users/{id}/avatar"));
+    assertTrue(matcher.matches("/static/css/site/main.css"));
+    assertTrue(matcher.matches("/v1/ping"));
+
+    assertFalse(matcher.matches("/metrics/jvm"));
+    assertFalse(matcher.matches("/users/{id}/avatar/large"));
+    assertFalse(matcher.matches("/users/{id}"));
+    assertFalse(matcher.matches("/static/css/main.js"));
+    assertFalse(matcher.matches("/v10/ping"));
+    assertFalse(matcher.matches("/users/{id}/orders"));
+  }
+
+  @Test
+  void literalsSharingAPrefixAreKeptApart() {
+    var matcher = ExclusionMatcher.compile(List.of("/api/a", "/api/b", "/api/**/admin", "/apx"));
+
+    assertTrue(matcher.matches("/api/a"));
+    assertTrue(matcher.matches("/api/b"));
+    assertTrue(matcher.matches("/apx"));
+    assertTrue(matcher.matches("/api/v1/admin"));
+    assertFalse(matcher.matches("/api/c"));
+    assertFalse(matcher.matches("/api"));
+  }
+
+  @Test
+  void trieLookupDoesNotAllocate() {
+    var bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+    // characters beyond the cache of Character.valueOf, which a boxed key would allocate
+    var matcher = ExclusionMatcher.compile(List.of("/sa\u00fade/**", "/relat\u00f3rios"));
+    long threadId = Thread.currentThread().getId();
+
+    long allocated = -1;
+    for (int round = 0; round < MAX_ROUNDS && allocated != 0; round++) {
+      long before = bean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < ITERATIONS; i++) {
+        matcher.matches("/SA\u00daDE/live");
+        matcher.matches("/relat\u00f3rios");
+      }
+      allocated = bean.getThreadAllocatedBytes(threadId) - before;
+    }
+    assertEquals(0, allocated);
+  }
+}
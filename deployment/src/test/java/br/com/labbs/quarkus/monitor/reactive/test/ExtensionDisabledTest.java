@@ -0,0 +1,44 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceRequestFilter;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsServiceResponseFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * With quarkus.b5.monitor.enable=false the server filters are not installed, even with the optional interceptors turned on.
+ */
+class ExtensionDisabledTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(SizeResource.class, ConcurrentRequests.class))
+      .overrideConfigKey("quarkus.b5.monitor.enable", "false")
+      .overrideConfigKey("quarkus.b5.monitor.enable-http-response-size", "true");
+
+  @TestHTTPResource("/size/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void nothingIsInstalled() throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("fixed")));
+
+    assertFalse(Arc.container().select(MetricsServiceRequestFilter.class).isResolvable());
+    assertFalse(Arc.container().select(MetricsServiceResponseFilter.class).isResolvable());
+    assertTrue(registry.find(B5Metrics.REQUEST).meters().isEmpty());
+    assertTrue(registry.find(B5Metrics.RESPONSE_SIZE).meters().isEmpty());
+  }
+}
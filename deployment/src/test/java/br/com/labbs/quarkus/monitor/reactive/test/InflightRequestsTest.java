@@ -0,0 +1,200 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * The in-flight gauges go back to zero however the request or the dependency call ends.
+ */
+class InflightRequestsTest {
+
+  private static final String DEPENDENCY = "inflight-backend";
+  private static final Queue<UniEmitter<? super String>> pending = new ConcurrentLinkedQueue<>();
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(InflightResource.class, AbortFilter.class, BackendClient.class,
+          UnreachableClient.class, ConcurrentRequests.class, Await.class))
+      .overrideConfigKey("quarkus.rest-client.backend.url", "http://localhost:${quarkus.http.test-port:8081}/inflight")
+      .overrideConfigKey("quarkus.rest-client.unreachable.url", "http://localhost:1/inflight");
+
+  @TestHTTPResource("/inflight/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Inject
+  @RestClient
+  BackendClient backend;
+
+  @Inject
+  @RestClient
+  UnreachableClient unreachable;
+
+  @AfterEach
+  void releasePending() {
+    UniEmitter<? super String> emitter;
+    while ((emitter = pending.poll()) != null) {
+      emitter.complete("released");
+    }
+  }
+
+  @Test
+  void requestThatThrows() throws Exception {
+    assertEquals(500, ConcurrentRequests.status(ConcurrentRequests.get(url.toURI().resolve("fail"))));
+
+    Await.until(() -> requestInflight("/inflight/fail") == 0);
+  }
+
+  @Test
+  void abortedFilterChain() throws Exception {
+    assertEquals(403, ConcurrentRequests.status(ConcurrentRequests.get(url.toURI().resolve("aborted"))));
+
+    Await.until(() -> requestInflight("/inflight/aborted") == 0);
+  }
+
+  @Test
+  void clientDisconnect() throws Exception {
+    try (var socket = new Socket(url.getHost(), url.getPort())) {
+      OutputStream output = socket.getOutputStream();
+      output.write(("GET /inflight/pending HTTP/1.1\r\nHost: " + url.getHost() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+      Await.until(() -> requestInflight("/inflight/pending") == 1);
+    }
+
+    // the resource is still pending: only the closed connection releases the gauge
+    Await.until(() -> requestInflight("/inflight/pending") == 0);
+  }
+
+  @Test
+  void dependencyThatFails() throws Exception {
+    assertThrows(WebApplicationException.class, () -> backend.fail());
+
+    Await.until(() -> dependencyInflight() == 0);
+  }
+
+  @Test
+  void dependencyThatCannotConnect() throws Exception {
+    assertThrows(ProcessingException.class, () -> unreachable.fail());
+
+    Await.until(() -> dependencyInflight() == 0);
+  }
+
+  @Test
+  void dependencyThatIsCancelled() throws Exception {
+    var call = backend.pending().subscribe().with(item -> {
+    });
+    Await.until(() -> dependencyInflight() == 1);
+
+    call.cancel();
+
+    Await.until(() -> dependencyInflight() == 0);
+  }
+
+  private double requestInflight(String addr) {
+    var gauge = registry.find(B5Metrics.REQUEST_INFLIGHT).tag("addr", addr).gauge();
+    return gauge != null ? gauge.value() : -1;
+  }
+
+  private double dependencyInflight() {
+    var gauge = registry.find(B5Metrics.DEPENDENCY_INFLIGHT).tag("name", DEPENDENCY).gauge();
+    return gauge != null ? gauge.value() : -1;
+  }
+
+  @Path("/inflight")
+  public static class InflightResource {
+
+    @GET
+    @Path("/fail")
+    public String fail() {
+      throw new IllegalStateException("failed");
+    }
+
+    @GET
+    @Path("/aborted")
+    public String aborted() {
+      return "never called";
+    }
+
+    @GET
+    @Path("/pending")
+    public Uni<String> pending() {
+      return Uni.createFrom().<String>emitter(pending::add);
+    }
+
+    @GET
+    @Path("/pending-call")
+    public Uni<String> pendingCall() {
+      return Uni.createFrom().<String>emitter(pending::add);
+    }
+  }
+
+  /**
+   * Aborts after the metrics request filter, which runs at {@link Priorities#AUTHENTICATION}.
+   */
+  @Provider
+  @Priority(Priorities.AUTHORIZATION)
+  public static class AbortFilter implements ContainerRequestFilter {
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+      if (request.getUriInfo().getPath().endsWith("/aborted")) {
+        request.abortWith(Response.status(Response.Status.FORBIDDEN).build());
+      }
+    }
+  }
+
+  @RegisterRestClient(configKey = "backend")
+  public interface BackendClient {
+
+    @GET
+    @Path("/fail")
+    @TagValuesRestClient(name = DEPENDENCY)
+    String fail();
+
+    @GET
+    @Path("/pending-call")
+    @TagValuesRestClient(name = DEPENDENCY)
+    Uni<String> pending();
+  }
+
+  @RegisterRestClient(configKey = "unreachable")
+  public interface UnreachableClient {
+
+    @GET
+    @Path("/fail")
+    @TagValuesRestClient(name = DEPENDENCY)
+    String fail();
+  }
+}
@@ -0,0 +1,85 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.QuarkusUnitTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * With warmup.enabled, the series of the resource methods and rest client methods are registered at startup for each configured status,
+ * except the ones of the excluded routes.
+ */
+class MeterWarmupTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(WarmResource.class, WarmClient.class))
+      .overrideConfigKey("quarkus.b5.monitor.warmup.enabled", "true")
+      .overrideConfigKey("quarkus.b5.monitor.warmup.statuses", "200,500")
+      .overrideConfigKey("quarkus.b5.monitor.exclusions", "/metrics,/warm/internal/**")
+      .overrideConfigKey("quarkus.rest-client.warm.url", "http://localhost:${quarkus.http.test-port:8081}/warm");
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void routesAreRegisteredBeforeTheFirstRequest() {
+    var timers = registry.find(B5Metrics.REQUEST).tag("addr", "/warm/items/{id}").tag("method", "GET").timers();
+
+    assertEquals(Set.of("200", "500"), timers.stream().map(timer -> timer.getId().getTag("status")).collect(Collectors.toSet()));
+    assertEquals(0, timers.stream().mapToLong(Timer::count).sum());
+    assertEquals("true",
+        registry.get(B5Metrics.REQUEST).tag("addr", "/warm/items/{id}").tag("status", "500").timer().getId().getTag("isError"));
+  }
+
+  @Test
+  void excludedRoutesAreNotRegistered() {
+    assertTrue(registry.find(B5Metrics.REQUEST).tag("addr", "/warm/internal/health").timers().isEmpty());
+  }
+
+  @Test
+  void restClientsAreRegisteredBeforeTheFirstCall() {
+    var timers = registry.find(B5Metrics.DEPENDENCY_REQUEST).tag("name", "warm-backend").tag("method", "GET").timers();
+
+    assertEquals(Set.of("200", "500"), timers.stream().map(timer -> timer.getId().getTag("status")).collect(Collectors.toSet()));
+    assertEquals(0, timers.stream().mapToLong(Timer::count).sum());
+  }
+
+  @Path("/warm")
+  public static class WarmResource {
+
+    @GET
+    @Path("/items/{id}")
+    public String item(@PathParam("id") String id) {
+      return "item " + id;
+    }
+
+    @GET
+    @Path("/internal/health")
+    public String health() {
+      return "up";
+    }
+  }
+
+  @RegisterRestClient(configKey = "warm")
+  public interface WarmClient {
+
+    @GET
+    @Path("/items/{id}")
+    @TagValuesRestClient(name = "warm-backend")
+    String item(@PathParam("id") String id);
+  }
+}
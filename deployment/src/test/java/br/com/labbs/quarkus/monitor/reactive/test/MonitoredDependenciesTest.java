@@ -0,0 +1,133 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependency;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencies;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencyDescriptor.ReturnKind;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptors;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Methods missing from the build time index are resolved from their annotations, with the same labels as the index would give.
+ */
+class MonitoredDependenciesTest {
+
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    Metrics.bind(new B5Metrics(registry, MetricsSettings.builder().build()));
+    MonitoredDependencies.register(Map.of());
+  }
+
+  @Test
+  void methodAnnotationGivesTheLabels() throws Exception {
+    var binding = MonitoredDependencies.resolve(Annotated.class.getMethod("find"), new Annotated());
+
+    assertEquals(ReturnKind.PLAIN, binding.kind());
+    assertLabels(binding, "db", "sql", "select", "users");
+  }
+
+  @Test
+  void emptyAnnotationValuesFallBackToTheDefaults() throws Exception {
+    var binding = MonitoredDependencies.resolve(Annotated.class.getMethod("uni"), new Annotated());
+
+    assertEquals(ReturnKind.UNI, binding.kind());
+    assertLabels(binding, "db", "other", "uni", "");
+  }
+
+  @Test
+  void classAnnotationCoversTheMethods() throws Exception {
+    var target = new AnnotatedClass();
+
+    assertEquals(ReturnKind.MULTI, MonitoredDependencies.resolve(AnnotatedClass.class.getMethod("scan"), target).kind());
+    assertEquals(ReturnKind.COMPLETION_STAGE,
+        MonitoredDependencies.resolve(AnnotatedClass.class.getMethod("get", String.class), target).kind());
+    assertLabels(MonitoredDependencies.resolve(AnnotatedClass.class.getMethod("get", String.class), target), "cache", "redis",
+        "get", "");
+  }
+
+  @Test
+  void inheritedMethodTakesTheAnnotationOfTheTarget() throws Exception {
+    var binding = MonitoredDependencies.resolve(Base.class.getMethod("inherited"), new AnnotatedSubclass());
+
+    assertLabels(binding, "queue", "kafka", "inherited", "");
+  }
+
+  @Test
+  void buildTimeIndexTakesPrecedence() throws Exception {
+    var method = Annotated.class.getMethod("find");
+    MonitoredDependencies.register(Map.of(RestClientDescriptors.key(Annotated.class.getName(), "find", new String[0]),
+        MonitoredDependencies.descriptor("indexed", "sql", null, null, "find", String.class.getName())));
+
+    assertLabels(MonitoredDependencies.resolve(method, new Annotated()), "indexed", "sql", "find", "");
+  }
+
+  @Test
+  void bindingIsResolvedOnce() throws Exception {
+    var method = Annotated.class.getMethod("find");
+
+    assertSame(MonitoredDependencies.resolve(method, new Annotated()), MonitoredDependencies.resolve(method, new Annotated()));
+  }
+
+  private void assertLabels(MonitoredDependencies.Binding binding, String name, String type, String method, String addr) {
+    registry.find(B5Metrics.DEPENDENCY_REQUEST).meters().forEach(registry::remove);
+    binding.timing().record(null, false, 1_000);
+
+    Meter.Id id = registry.get(B5Metrics.DEPENDENCY_REQUEST).timer().getId();
+    assertEquals(name, id.getTag("name"));
+    assertEquals(type, id.getTag("type"));
+    assertEquals(method, id.getTag("method"));
+    assertEquals(addr, id.getTag("addr"));
+  }
+
+  public static class Annotated {
+
+    @MonitoredDependency(name = "db", type = "sql", method = "select", address = "users")
+    public String find() {
+      return "user";
+    }
+
+    @MonitoredDependency(name = "db", type = "")
+    public Uni<String> uni() {
+      return Uni.createFrom().item("user");
+    }
+  }
+
+  @MonitoredDependency(name = "cache", type = "redis")
+  public static class AnnotatedClass {
+
+    public Multi<String> scan() {
+      return Multi.createFrom().empty();
+    }
+
+    public CompletableFuture<String> get(String key) {
+      return CompletableFuture.completedFuture(key);
+    }
+  }
+
+  public static class Base {
+
+    public String inherited() {
+      return "message";
+    }
+  }
+
+  @MonitoredDependency(name = "queue", type = "kafka")
+  public static class AnnotatedSubclass extends Base {
+  }
+}
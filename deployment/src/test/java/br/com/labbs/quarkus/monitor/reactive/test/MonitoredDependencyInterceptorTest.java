@@ -0,0 +1,186 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import io.quarkus.test.QuarkusUnitTest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Beans annotated with {@link MonitoredDependency} on their methods or their class record dependency_request_seconds with the labels of
+ * the annotation, timing the reactive results until they complete.
+ */
+class MonitoredDependencyInterceptorTest {
+
+  private static final Duration DELAY = Duration.ofMillis(100);
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(Database.class, Cache.class, Await.class));
+
+  @Inject
+  MeterRegistry registry;
+
+  @Inject
+  Database database;
+
+  @Inject
+  Cache cache;
+
+  @BeforeEach
+  void clear() {
+    registry.find(B5Metrics.DEPENDENCY_REQUEST).meters().forEach(registry::remove);
+  }
+
+  @Test
+  void methodAnnotationGivesTheLabels() {
+    database.find();
+
+    var timer = timer("db", "OK").timer();
+    assertEquals(1, timer.count());
+    assertEquals("sql", timer.getId().getTag("type"));
+    assertEquals("select", timer.getId().getTag("method"));
+    assertEquals("users", timer.getId().getTag("addr"));
+    assertEquals("false", timer.getId().getTag("isError"));
+  }
+
+  @Test
+  void classAnnotationCoversEveryMethod() {
+    cache.get();
+    cache.put();
+
+    assertEquals(1, timer("cache", "OK").tag("type", "redis").tag("method", "get").tag("addr", "").timer().count());
+    assertEquals(1, timer("cache", "OK").tag("type", "redis").tag("method", "put").tag("addr", "").timer().count());
+  }
+
+  @Test
+  void uniIsTimedUntilItsItem() {
+    var uni = database.uni();
+    assertNull(timer("db", "OK").timer(), "a Uni is timed from its subscription");
+
+    assertEquals("user", uni.await().atMost(Duration.ofSeconds(5)));
+
+    assertTimedAtLeastTheDelay(timer("db", "OK").tag("method", "uni").timer());
+  }
+
+  @Test
+  void multiIsTimedUntilItsCompletion() {
+    var multi = database.multi();
+    assertNull(timer("db", "OK").timer(), "a Multi is timed from its subscription");
+
+    assertEquals(3, multi.collect().asList().await().atMost(Duration.ofSeconds(5)).size());
+
+    assertTimedAtLeastTheDelay(timer("db", "OK").tag("method", "multi").timer());
+  }
+
+  @Test
+  void completionStageIsTimedUntilItCompletes() throws Exception {
+    assertEquals("user", database.stage().toCompletableFuture().get(5, TimeUnit.SECONDS));
+
+    Await.until(() -> timer("db", "OK").tag("method", "stage").timer() != null);
+    assertTimedAtLeastTheDelay(timer("db", "OK").tag("method", "stage").timer());
+  }
+
+  @Test
+  void failuresAreErrors() {
+    assertThrows(IllegalStateException.class, () -> database.fail());
+    assertThrows(IllegalStateException.class, () -> database.failingUni().await().atMost(Duration.ofSeconds(5)));
+
+    var timer = timer("db", "ERROR").timer();
+    assertEquals(2, timer.count());
+    assertEquals("true", timer.getId().getTag("isError"));
+  }
+
+  @Test
+  void cancelledCallsAreCancelled() {
+    database.never().subscribe().with(item -> {
+    }).cancel();
+    database.neverStage().toCompletableFuture().cancel(false);
+
+    assertEquals(1, timer("db", "CANCELLED").tag("method", "never").timer().count());
+    assertEquals(1, timer("db", "CANCELLED").tag("method", "neverStage").timer().count());
+  }
+
+  private Search timer(String name, String status) {
+    return registry.find(B5Metrics.DEPENDENCY_REQUEST).tag("name", name).tag("status", status);
+  }
+
+  private static void assertTimedAtLeastTheDelay(Timer timer) {
+    assertEquals(1, timer.count());
+    assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= DELAY.toMillis(),
+        "must be timed until the result, was " + timer.totalTime(TimeUnit.MILLISECONDS) + "ms");
+  }
+
+  @ApplicationScoped
+  public static class Database {
+
+    @MonitoredDependency(name = "db", type = "sql", method = "select", address = "users")
+    public String find() {
+      return "user";
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public Uni<String> uni() {
+      return Uni.createFrom().item("user").onItem().delayIt().by(DELAY);
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public Multi<Integer> multi() {
+      return Multi.createFrom().items(1, 2, 3).onCompletion().call(() -> Uni.createFrom().voidItem().onItem().delayIt().by(DELAY));
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public CompletionStage<String> stage() {
+      return CompletableFuture.supplyAsync(() -> "user", CompletableFuture.delayedExecutor(DELAY.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public String fail() {
+      throw new IllegalStateException("failed");
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public Uni<String> failingUni() {
+      return Uni.createFrom().failure(new IllegalStateException("failed"));
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public Uni<String> never() {
+      return Uni.createFrom().nothing();
+    }
+
+    @MonitoredDependency(name = "db", type = "sql")
+    public CompletionStage<String> neverStage() {
+      return new CompletableFuture<>();
+    }
+  }
+
+  @ApplicationScoped
+  @MonitoredDependency(name = "cache", type = "redis")
+  public static class Cache {
+
+    public String get() {
+      return "value";
+    }
+
+    public void put() {
+    }
+  }
+}
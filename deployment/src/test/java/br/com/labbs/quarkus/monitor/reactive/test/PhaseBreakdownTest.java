@@ -0,0 +1,83 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * With phase-breakdown.enabled, the queue, handler and serialization phases are recorded for each request. The handler phase is part of
+ * request_seconds, which starts at the request filter; the queue and serialization phases are around it, so the three of them are
+ * compared with the time seen by the client.
+ */
+class PhaseBreakdownTest {
+
+  private static final int REQUESTS = 5;
+  private static final long WORK_MILLIS = 20;
+  private static final String ADDR = "/phases/{id}";
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(PhaseResource.class, ConcurrentRequests.class, Await.class))
+      .overrideConfigKey("quarkus.b5.monitor.phase-breakdown.enabled", "true");
+
+  @TestHTTPResource("/phases/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void phasesAddUpToAtMostTheTotal() throws Exception {
+    long start = System.nanoTime();
+    for (int i = 0; i < REQUESTS; i++) {
+      ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve(String.valueOf(i))));
+    }
+    Await.until(() -> phase("serialization") != null && phase("serialization").count() == REQUESTS);
+    long clientNanos = System.nanoTime() - start;
+
+    var request = registry.get(B5Metrics.REQUEST).tag("addr", ADDR).timer();
+    var queue = phase("queue");
+    var handler = phase("handler");
+    var serialization = phase("serialization");
+    assertEquals(REQUESTS, request.count());
+    assertEquals(REQUESTS, queue.count());
+    assertEquals(REQUESTS, handler.count());
+
+    assertTrue(handler.totalTime(TimeUnit.MILLISECONDS) >= REQUESTS * WORK_MILLIS);
+    assertTrue(handler.totalTime(TimeUnit.NANOSECONDS) <= request.totalTime(TimeUnit.NANOSECONDS),
+        "the handler phase is part of request_seconds");
+    var phases = queue.totalTime(TimeUnit.NANOSECONDS) + handler.totalTime(TimeUnit.NANOSECONDS)
+        + serialization.totalTime(TimeUnit.NANOSECONDS);
+    assertTrue(phases <= clientNanos, "phases " + phases + "ns, seen by the client " + clientNanos + "ns");
+  }
+
+  private Timer phase(String phase) {
+    return registry.find(B5Metrics.REQUEST_PHASE).tag("phase", phase).tag("method", "GET").tag("addr", ADDR).timer();
+  }
+
+  @Path("/phases")
+  public static class PhaseResource {
+
+    @GET
+    @Path("/{id}")
+    @Blocking
+    public String item(@PathParam("id") String id) throws InterruptedException {
+      Thread.sleep(WORK_MILLIS);
+      return "item " + id;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Once the meters exist and the recording path is compiled, recording a request or a dependency call allocates nothing.
+ */
+class RecordingAllocationTest {
+
+  private static final int ITERATIONS = 100_000;
+  private static final int MAX_ROUNDS = 50;
+  private static final String[] REQUEST = {"http", "200", "GET", "/users/{id}", "false", ""};
+  private static final String[] DEPENDENCY = {"database", "sql", "OK", "select", "users", "false", ""};
+
+  @Test
+  void steadyStateRecordingDoesNotAllocate() {
+    var bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+    var metrics = new B5Metrics(new SimpleMeterRegistry(), MetricsSettings.builder().build());
+    long threadId = Thread.currentThread().getId();
+
+    // the first rounds warm the JIT up, the recording must then stay at zero
+    long allocated = -1;
+    for (int round = 0; round < MAX_ROUNDS && allocated != 0; round++) {
+      long before = bean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < ITERATIONS; i++) {
+        metrics.requestNanos(REQUEST, i);
+        metrics.dependencyRequestNanos(DEPENDENCY, i);
+      }
+      allocated = bean.getThreadAllocatedBytes(threadId) - before;
+    }
+    assertEquals(0, allocated);
+  }
+}
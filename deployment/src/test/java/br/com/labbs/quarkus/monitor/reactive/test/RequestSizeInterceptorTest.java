@@ -0,0 +1,46 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsRequestSizeInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import java.net.URL;
+import java.net.http.HttpRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class RequestSizeInterceptorTest {
+
+  private static final int ITERATIONS = 50;
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(SizeResource.class, ConcurrentRequests.class))
+      .overrideConfigKey("quarkus.b5.monitor.enable-http-request-size", "true");
+
+  @TestHTTPResource("/size/upload")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void concurrentUploadsAreCounted() throws Exception {
+    assertTrue(Arc.container().select(MetricsRequestSizeInterceptor.class).isResolvable());
+
+    var upload = HttpRequest.newBuilder(url.toURI()).POST(HttpRequest.BodyPublishers.ofString(SizeResource.BODY)).build();
+    ConcurrentRequests.run(ITERATIONS, () -> {
+      ConcurrentRequests.send(upload);
+      return null;
+    });
+
+    assertEquals((double) ITERATIONS * ConcurrentRequests.THREADS * SizeResource.BODY.length(),
+        registry.get(B5Metrics.REQUEST_SIZE).tag("addr", "/size/upload").functionCounter().count());
+  }
+}
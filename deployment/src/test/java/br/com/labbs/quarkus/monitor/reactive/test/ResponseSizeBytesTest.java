@@ -0,0 +1,36 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.core.MetricsSettings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The response_size_bytes counters must not lose bytes nor register a series twice when the same series is first used by many threads.
+ */
+class ResponseSizeBytesTest {
+
+  private static final int ITERATIONS = 10_000;
+
+  @Test
+  void concurrentAddsAreNotLost() throws Exception {
+    var registry = new SimpleMeterRegistry();
+    var metrics = new B5Metrics(registry, MetricsSettings.builder().build());
+    var turn = new AtomicInteger();
+
+    ConcurrentRequests.run(ITERATIONS, () -> {
+      var addr = turn.getAndIncrement() % 2 == 0 ? "/even" : "/odd";
+      metrics.responseSizeBytes(new String[]{"http", "200", "GET", addr, "false", ""}, 3);
+      return null;
+    });
+
+    assertEquals(2, registry.find(B5Metrics.RESPONSE_SIZE).functionCounters().size());
+    var total = registry.find(B5Metrics.RESPONSE_SIZE).functionCounters().stream().mapToDouble(c -> c.count()).sum();
+    assertEquals(3.0 * ITERATIONS * ConcurrentRequests.THREADS, total);
+    assertEquals(ITERATIONS * ConcurrentRequests.THREADS / 2 * 3.0,
+        registry.get(B5Metrics.RESPONSE_SIZE).tag("addr", "/even").functionCounter().count());
+  }
+}
@@ -0,0 +1,39 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsResponseSizeInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Without enable-http-response-size the interceptor is not installed at all.
+ */
+class ResponseSizeDisabledTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(SizeResource.class, ConcurrentRequests.class));
+
+  @TestHTTPResource("/size/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void interceptorIsNotInstalled() throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("fixed")));
+
+    assertFalse(Arc.container().select(MetricsResponseSizeInterceptor.class).isResolvable());
+    assertTrue(registry.find(B5Metrics.RESPONSE_SIZE).meters().isEmpty());
+  }
+}
@@ -0,0 +1,56 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsResponseSizeInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+class ResponseSizeInterceptorTest {
+
+  private static final int ITERATIONS = 50;
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(SizeResource.class, ConcurrentRequests.class))
+      .overrideConfigKey("quarkus.b5.monitor.enable-http-response-size", "true");
+
+  @TestHTTPResource("/size/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void interceptorIsInstalled() {
+    assertTrue(Arc.container().select(MetricsResponseSizeInterceptor.class).isResolvable());
+  }
+
+  @Test
+  void concurrentResponsesAreCounted() throws Exception {
+    var fixed = ConcurrentRequests.get(url.toURI().resolve("fixed"));
+    var streamed = ConcurrentRequests.get(url.toURI().resolve("streamed"));
+    ConcurrentRequests.run(ITERATIONS, () -> {
+      ConcurrentRequests.send(fixed);
+      ConcurrentRequests.send(streamed);
+      return null;
+    });
+
+    var requests = ITERATIONS * ConcurrentRequests.THREADS;
+    var body = SizeResource.BODY.length();
+    assertEquals((double) requests * body, responseSize("/size/fixed"));
+    assertEquals((double) requests * body * SizeResource.CHUNKS, responseSize("/size/streamed"));
+  }
+
+  private double responseSize(String addr) {
+    return registry.get(B5Metrics.RESPONSE_SIZE).tag("addr", addr).tag("status", "200").functionCounter().count();
+  }
+}
@@ -0,0 +1,72 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptor;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptors;
+import io.quarkus.test.QuarkusUnitTest;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * The descriptors indexed at build time have the labels the reflective fallback reads from the annotations, each overload of a rest
+ * client method keeping its own.
+ */
+class RestClientDescriptorsTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(OverloadedClient.class))
+      .overrideConfigKey("quarkus.rest-client.overloaded.url", "http://localhost:${quarkus.http.test-port:8081}");
+
+  @Test
+  void overloadsMatchTheFallback() throws Exception {
+    assertMatchesTheFallback(OverloadedClient.class.getMethod("item", int.class), "numbers_api", "numeros", "/overloaded/numbers/{id}");
+    assertMatchesTheFallback(OverloadedClient.class.getMethod("item", String.class), OverloadedClient.class.getCanonicalName(), null,
+        "/overloaded/names/{name}");
+    assertMatchesTheFallback(OverloadedClient.class.getMethod("item", String.class, List.class), "search", null, "/overloaded/search");
+  }
+
+  private static void assertMatchesTheFallback(Method method, String name, String address, String methodAddress) {
+    RestClientDescriptor indexed = RestClientDescriptors.indexed(method);
+    RestClientDescriptor fallback = RestClientDescriptors.fromAnnotations(method);
+
+    assertNotNull(indexed, method + " must be in the build time index");
+    assertEquals(name, indexed.getName());
+    assertEquals(address, indexed.getAddress());
+    assertEquals(methodAddress, indexed.getMethodAddress());
+
+    assertEquals(fallback.getName(), indexed.getName());
+    assertEquals(fallback.getCheckerName(), indexed.getCheckerName());
+    assertEquals(fallback.getAddress(), indexed.getAddress());
+    assertEquals(fallback.getMethodAddress(), indexed.getMethodAddress());
+  }
+
+  @RegisterRestClient(configKey = "overloaded")
+  @Path("/overloaded")
+  public interface OverloadedClient {
+
+    @GET
+    @Path("/numbers/{id}")
+    @TagValuesRestClient(name = "numbers api", address = "n\u00fameros")
+    String item(@PathParam("id") int id);
+
+    @GET
+    @Path("names/{name}")
+    String item(@PathParam("name") String name);
+
+    @GET
+    @Path("/search")
+    @TagValuesRestClient(name = "search")
+    String item(@QueryParam("q") String query, @QueryParam("tags") List<String> tags);
+  }
+}
@@ -0,0 +1,57 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Overloaded resource methods with the same http method keep their own route template.
+ */
+class RouteTemplateOverloadTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(OverloadedResource.class, ConcurrentRequests.class));
+
+  @TestHTTPResource("/overloaded/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void overloadsHaveTheirOwnTemplate() throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("numbers/1")));
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("names/one")));
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("names/two")));
+
+    assertEquals(1, registry.get(B5Metrics.REQUEST).tag("addr", "/overloaded/numbers/{id}").timer().count());
+    assertEquals(2, registry.get(B5Metrics.REQUEST).tag("addr", "/overloaded/names/{name}").timer().count());
+  }
+
+  @Path("/overloaded")
+  public static class OverloadedResource {
+
+    @GET
+    @Path("/numbers/{id}")
+    public String item(@PathParam("id") int id) {
+      return "number";
+    }
+
+    @GET
+    @Path("/names/{name}")
+    public String item(@PathParam("name") String name) {
+      return "name";
+    }
+  }
+}
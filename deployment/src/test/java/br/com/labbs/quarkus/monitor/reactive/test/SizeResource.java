@@ -0,0 +1,40 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.StreamingOutput;
+
+@Path("/size")
+public class SizeResource {
+
+  static final String BODY = "x".repeat(1000);
+  static final int CHUNKS = 10;
+
+  @GET
+  @Path("/fixed")
+  public String fixed() {
+    return BODY;
+  }
+
+  /**
+   * Written in chunks without Content-Length, so the size is counted on the stream.
+   */
+  @GET
+  @Path("/streamed")
+  public StreamingOutput streamed() {
+    return output -> {
+      var chunk = BODY.getBytes();
+      for (int i = 0; i < CHUNKS; i++) {
+        output.write(chunk);
+        output.flush();
+      }
+    };
+  }
+
+  @POST
+  @Path("/upload")
+  public String upload(String body) {
+    return Integer.toString(body.length());
+  }
+}
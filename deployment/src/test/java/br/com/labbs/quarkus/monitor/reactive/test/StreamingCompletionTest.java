@@ -0,0 +1,116 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * With streaming-completion.enabled, the streaming responses are recorded when they end: request_seconds covers the whole stream,
+ * request_first_byte_seconds ends earlier and response_items counts the items of the stream.
+ */
+class StreamingCompletionTest {
+
+  private static final int ITEMS = 5;
+  private static final Duration DELAY = Duration.ofMillis(50);
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(StreamResource.class, ConcurrentRequests.class, Await.class))
+      .overrideConfigKey("quarkus.b5.monitor.streaming-completion.enabled", "true");
+
+  @TestHTTPResource("/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void multiIsRecordedWhenItCompletes() throws Exception {
+    assertStreamRecorded("/stream/multi", ITEMS);
+  }
+
+  @Test
+  void eventSinkIsRecordedWhenItCloses() throws Exception {
+    assertStreamRecorded("/stream/sse", ITEMS);
+  }
+
+  @Test
+  void streamingOutputIsRecordedWhenItIsWritten() throws Exception {
+    assertStreamRecorded("/stream/output", 1);
+  }
+
+  private void assertStreamRecorded(String addr, int items) throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve(addr.substring(1))));
+
+    Await.until(() -> registry.find(B5Metrics.RESPONSE_ITEMS).tag("addr", addr).summary() != null);
+    var request = registry.get(B5Metrics.REQUEST).tag("addr", addr).timer();
+    var firstByte = registry.get(B5Metrics.REQUEST_FIRST_BYTE).tag("addr", addr).timer();
+    var responseItems = registry.get(B5Metrics.RESPONSE_ITEMS).tag("addr", addr).summary();
+
+    assertEquals(1, request.count());
+    assertTrue(request.totalTime(TimeUnit.MILLISECONDS) >= (ITEMS - 1) * DELAY.toMillis(),
+        "request_seconds must cover the stream, was " + request.totalTime(TimeUnit.MILLISECONDS) + "ms");
+    assertEquals(1, firstByte.count());
+    assertTrue(firstByte.totalTime(TimeUnit.NANOSECONDS) < request.totalTime(TimeUnit.NANOSECONDS));
+    assertEquals(1, responseItems.count());
+    assertEquals(items, responseItems.totalAmount());
+  }
+
+  @Path("/stream")
+  public static class StreamResource {
+
+    @GET
+    @Path("/multi")
+    @Produces(MediaType.TEXT_PLAIN)
+    public Multi<String> multi() {
+      return ticks().map(tick -> "item " + tick + "\n");
+    }
+
+    @GET
+    @Path("/sse")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void sse(@Context SseEventSink sink, @Context Sse sse) {
+      ticks().subscribe().with(tick -> sink.send(sse.newEvent("item " + tick)), failure -> sink.close(), sink::close);
+    }
+
+    @GET
+    @Path("/output")
+    public StreamingOutput output() {
+      return output -> {
+        for (int i = 0; i < ITEMS; i++) {
+          output.write(("item " + i + "\n").getBytes());
+          output.flush();
+          try {
+            Thread.sleep(DELAY.toMillis());
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      };
+    }
+
+    private static Multi<Long> ticks() {
+      return Multi.createFrom().ticks().every(DELAY).select().first(ITEMS);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package br.com.labbs.quarkus.monitor.reactive.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.labbs.quarkusmonitor.reactive.core.B5Metrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.vertx.web.Param;
+import io.quarkus.vertx.web.Route;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * The router level instrumentation records the reactive routes with their pattern, leaves the JAX-RS requests to the JAX-RS filters
+ * and never uses the path of an unmatched request as addr.
+ */
+class VertxRoutesTest {
+
+  @RegisterExtension
+  static final QuarkusUnitTest config = new QuarkusUnitTest()
+      .withApplicationRoot(jar -> jar.addClasses(GreetingRoutes.class, SizeResource.class, ConcurrentRequests.class, Await.class))
+      .overrideConfigKey("quarkus.b5.monitor.vertx-routes.enabled", "true");
+
+  @TestHTTPResource("/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void reactiveRouteIsRecordedWithItsPattern() throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("greetings/one")));
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("greetings/two")));
+
+    Await.until(() -> count("/greetings/:name") == 2);
+    assertEquals(0, count("/greetings/one"));
+    assertEquals(0, count("/greetings/two"));
+  }
+
+  @Test
+  void jaxRsRequestIsRecordedOnce() throws Exception {
+    ConcurrentRequests.send(ConcurrentRequests.get(url.toURI().resolve("size/fixed")));
+
+    Await.until(() -> count("/size/fixed") == 1);
+    // the end handler of the router runs after the response, leave it the time to record a duplicate
+    Thread.sleep(200);
+    assertEquals(1, count("/size/fixed"));
+    assertNull(registry.find(B5Metrics.REQUEST).tag("addr", "UNMATCHED").tag("status", "200").timer());
+  }
+
+  @Test
+  void unmatchedRequestsShareOneAddr() throws Exception {
+    assertEquals(404, ConcurrentRequests.status(ConcurrentRequests.get(url.toURI().resolve("scan/admin.php"))));
+    assertEquals(404, ConcurrentRequests.status(ConcurrentRequests.get(url.toURI().resolve("scan/wp-login.php"))));
+
+    Await.until(() -> count("UNMATCHED") == 2);
+    assertTrue(registry.find(B5Metrics.REQUEST).timers().stream()
+        .noneMatch(timer -> timer.getId().getTag("addr").contains("scan")));
+  }
+
+  private long count(String addr) {
+    var timer = registry.find(B5Metrics.REQUEST).tag("addr", addr).timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  @ApplicationScoped
+  public static class GreetingRoutes {
+
+    @Route(path = "/greetings/:name", methods = Route.HttpMethod.GET)
+    public String greet(@Param String name) {
+      return "hello " + name;
+    }
+  }
+}
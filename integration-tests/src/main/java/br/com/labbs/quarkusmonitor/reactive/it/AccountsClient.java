@@ -0,0 +1,16 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+@RegisterRestClient(configKey = "accounts")
+@Path("/accounts")
+public interface AccountsClient {
+
+  @GET
+  @Path("/{id}")
+  Uni<String> account(@PathParam("id") String id);
+}
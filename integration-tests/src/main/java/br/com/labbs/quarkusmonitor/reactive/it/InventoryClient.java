@@ -0,0 +1,17 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+@RegisterRestClient(configKey = "inventory")
+@Path("/inventory")
+public interface InventoryClient {
+
+  @GET
+  @Path("/{sku}")
+  @TagValuesRestClient(name = "inventory", address = "/inventory/{sku}")
+  String stock(@PathParam("sku") String sku);
+}
@@ -0,0 +1,84 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Routes of the sample application, parameterized so each one becomes a single series, served on the event loop or on a worker
+ * thread, and calling the stub through rest clients.
+ */
+@Path("/sample")
+public class SampleResource {
+
+  @Inject
+  @RestClient
+  AccountsClient accounts;
+
+  @Inject
+  @RestClient
+  InventoryClient inventory;
+
+  @GET
+  @Path("/users/{id}")
+  public Uni<String> user(@PathParam("id") String id) {
+    return Uni.createFrom().item("user " + id);
+  }
+
+  @GET
+  @Path("/users/{id}/orders")
+  public Uni<String> orders(@PathParam("id") String id, @QueryParam("page") int page) {
+    return Uni.createFrom().item("orders of " + id + " page " + page);
+  }
+
+  @GET
+  @Path("/users/{id}/orders/{orderId}")
+  public Uni<String> order(@PathParam("id") String id, @PathParam("orderId") String orderId) {
+    return Uni.createFrom().item("order " + orderId + " of " + id);
+  }
+
+  @GET
+  @Path("/products/{sku}")
+  public String product(@PathParam("sku") String sku) {
+    return "product " + sku;
+  }
+
+  @GET
+  @Path("/products/{sku}/reviews/{reviewId}")
+  public String review(@PathParam("sku") String sku, @PathParam("reviewId") String reviewId) {
+    return "review " + reviewId + " of " + sku;
+  }
+
+  @GET
+  @Blocking
+  @Path("/reports/{year}/{month}")
+  public String report(@PathParam("year") int year, @PathParam("month") int month) {
+    return "report " + year + "-" + month;
+  }
+
+  @POST
+  @Blocking
+  @Path("/carts/{id}/items")
+  public String addItem(@PathParam("id") String id, String item) {
+    return "cart " + id + " " + item;
+  }
+
+  @GET
+  @Path("/accounts/{id}")
+  public Uni<String> account(@PathParam("id") String id) {
+    return accounts.account(id);
+  }
+
+  @GET
+  @Blocking
+  @Path("/inventory/{sku}")
+  public String stock(@PathParam("sku") String sku) {
+    return inventory.stock(sku);
+  }
+}
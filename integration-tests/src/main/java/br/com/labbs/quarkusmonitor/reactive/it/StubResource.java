@@ -0,0 +1,26 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+
+/**
+ * In-process stand-in for the dependencies called by the rest clients, so the dependency metrics are exercised without external
+ * services.
+ */
+@Path("/stub")
+public class StubResource {
+
+  @GET
+  @Path("/accounts/{id}")
+  public Uni<String> account(@PathParam("id") String id) {
+    return Uni.createFrom().item("account " + id);
+  }
+
+  @GET
+  @Path("/inventory/{sku}")
+  public Uni<String> stock(@PathParam("sku") String sku) {
+    return Uni.createFrom().item("stock of " + sku);
+  }
+}
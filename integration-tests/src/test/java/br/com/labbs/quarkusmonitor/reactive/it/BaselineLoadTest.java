@@ -0,0 +1,35 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.net.URL;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Same load with the extension disabled, which must leave no filter of the extension in the requests.
+ */
+@QuarkusTest
+@TestProfile(MonitorDisabledProfile.class)
+@Order(2)
+class BaselineLoadTest {
+
+  @TestHTTPResource("/")
+  URL url;
+
+  @Inject
+  MeterRegistry registry;
+
+  @Test
+  void load() throws Exception {
+    var result = new LoadDriver(url.toURI()).run();
+    result.write("baseline");
+    assertTrue(registry.find("request").meters().isEmpty(), "requests recorded with the extension disabled");
+    assertTrue(registry.find("dependency_request").meters().isEmpty(), "rest client calls recorded with the extension disabled");
+  }
+}
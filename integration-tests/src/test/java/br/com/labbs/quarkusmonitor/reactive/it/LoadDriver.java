@@ -0,0 +1,145 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed loop load generator: each worker sends the next request of the mix as soon as the previous one is answered, so throughput
+ * and latency reflect the cost of the server. The same mix and number of requests are used for every run, which makes the results
+ * of two runs comparable.
+ */
+final class LoadDriver {
+
+  static final int CONCURRENCY = Integer.getInteger("overhead.concurrency", 16);
+  static final int WARMUP_REQUESTS = Integer.getInteger("overhead.warmup-requests", 20_000);
+  static final int REQUESTS = Integer.getInteger("overhead.requests", 100_000);
+  static final Path RESULTS = Path.of(System.getProperty("overhead.results", "target/overhead"));
+
+  private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  private final List<HttpRequest> mix;
+
+  LoadDriver(URI base) {
+    mix = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      mix.add(get(base, "sample/users/" + i));
+      mix.add(get(base, "sample/users/" + i + "/orders?page=" + i));
+      mix.add(get(base, "sample/users/" + i + "/orders/" + (i * 7)));
+      mix.add(get(base, "sample/products/sku-" + i));
+      mix.add(get(base, "sample/products/sku-" + i + "/reviews/" + (i * 3)));
+      mix.add(get(base, "sample/reports/2024/" + (i + 1)));
+      mix.add(HttpRequest.newBuilder(base.resolve("sample/carts/" + i + "/items"))
+          .POST(HttpRequest.BodyPublishers.ofString("item-" + i)).build());
+      mix.add(get(base, "sample/accounts/" + i));
+      mix.add(get(base, "sample/inventory/sku-" + i));
+    }
+  }
+
+  private static HttpRequest get(URI base, String path) {
+    return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+  }
+
+  /**
+   * Warm the application up, then measure the configured number of requests.
+   */
+  Result run() throws Exception {
+    send(WARMUP_REQUESTS);
+    var start = System.nanoTime();
+    var latencies = send(REQUESTS);
+    var elapsed = System.nanoTime() - start;
+    Arrays.sort(latencies);
+    return new Result(REQUESTS * 1e9 / elapsed, percentile(latencies, 0.5), percentile(latencies, 0.9),
+        percentile(latencies, 0.99));
+  }
+
+  private long[] send(int requests) throws Exception {
+    var latencies = new long[requests];
+    var next = new AtomicInteger();
+    ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+    try {
+      var futures = new ArrayList<Future<?>>();
+      for (int w = 0; w < CONCURRENCY; w++) {
+        futures.add(workers.submit(() -> {
+          for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+            var request = mix.get(i % mix.size());
+            var start = System.nanoTime();
+            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+              throw new IllegalStateException(request.uri() + " answered " + response.statusCode());
+            }
+          }
+          return null;
+        }));
+      }
+      for (var future : futures) {
+        future.get();
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+    return latencies;
+  }
+
+  private static long percentile(long[] sorted, double quantile) {
+    return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+  }
+
+  /**
+   * Throughput in requests per second and latency percentiles in nanoseconds of a run.
+   */
+  record Result(double throughput, long p50, long p90, long p99) {
+
+    void write(String name) {
+      var properties = new Properties();
+      properties.setProperty("throughput", Double.toString(throughput));
+      properties.setProperty("p50", Long.toString(p50));
+      properties.setProperty("p90", Long.toString(p90));
+      properties.setProperty("p99", Long.toString(p99));
+      try {
+        Files.createDirectories(RESULTS);
+        try (OutputStream out = Files.newOutputStream(RESULTS.resolve(name + ".properties"))) {
+          properties.store(out, null);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    static Result read(String name) {
+      var file = RESULTS.resolve(name + ".properties");
+      if (!Files.exists(file)) {
+        return null;
+      }
+      var properties = new Properties();
+      try (InputStream in = Files.newInputStream(file)) {
+        properties.load(in);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return new Result(Double.parseDouble(properties.getProperty("throughput")),
+          Long.parseLong(properties.getProperty("p50")), Long.parseLong(properties.getProperty("p90")),
+          Long.parseLong(properties.getProperty("p99")));
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%.0f req/s, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms", throughput, p50 / 1e6, p90 / 1e6, p99 / 1e6);
+    }
+  }
+}
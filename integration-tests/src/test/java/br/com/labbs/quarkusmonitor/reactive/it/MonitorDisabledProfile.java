@@ -0,0 +1,12 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+public class MonitorDisabledProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of("quarkus.b5.monitor.enable", "false");
+  }
+}
@@ -0,0 +1,24 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import java.net.URL;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Load with the extension enabled.
+ */
+@QuarkusTest
+@Order(1)
+class MonitoredLoadTest {
+
+  @TestHTTPResource("/")
+  URL url;
+
+  @Test
+  void load() throws Exception {
+    var result = new LoadDriver(url.toURI()).run();
+    result.write("monitored");
+  }
+}
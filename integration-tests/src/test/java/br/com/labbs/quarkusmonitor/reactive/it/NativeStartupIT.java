@@ -0,0 +1,93 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Start the native executable of the sample application, check that the metrics are recorded for JAX-RS routes and rest clients, and
+ * that startup time and resident memory stay under the configured limits.
+ */
+class NativeStartupIT {
+
+  private static final Path IMAGE = Path.of(System.getProperty("native.image.path"));
+  private static final long MAX_STARTUP_MILLIS = Long.getLong("native.max-startup-millis", 500);
+  private static final long MAX_RSS_MB = Long.getLong("native.max-rss-mb", 96);
+  private static final int PORT = Integer.getInteger("native.port", 8082);
+
+  private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+  private final URI base = URI.create("http://localhost:" + PORT + "/");
+  private Process process;
+
+  @Test
+  void startsAndRecordsMetrics() throws Exception {
+    var start = System.nanoTime();
+    process = new ProcessBuilder(IMAGE.toString(), "-Dquarkus.http.port=" + PORT)
+        .redirectErrorStream(true)
+        .redirectOutput(IMAGE.resolveSibling("native-startup-it.log").toFile())
+        .start();
+    awaitFirstResponse();
+    var startupMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    assertEquals(200, get("sample/users/1").statusCode());
+    assertEquals(200, get("sample/accounts/1").statusCode());
+    var metrics = get("q/metrics").body();
+    assertTrue(metrics.contains("request_seconds_count{"), "request_seconds not exported");
+    assertTrue(metrics.contains("addr=\"/sample/users/{id}\""), "route template not used as addr");
+    assertTrue(metrics.contains("dependency_request_seconds_count{"), "dependency_request_seconds not exported");
+
+    var rssMb = residentMemoryKb(process.pid()) / 1024;
+    assertTrue(startupMillis <= MAX_STARTUP_MILLIS, "startup took " + startupMillis + " ms, limit " + MAX_STARTUP_MILLIS + " ms");
+    assertTrue(rssMb <= MAX_RSS_MB, "resident memory is " + rssMb + " MB, limit " + MAX_RSS_MB + " MB");
+  }
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    if (process != null) {
+      process.destroy();
+      process.waitFor();
+    }
+  }
+
+  private void awaitFirstResponse() throws Exception {
+    var deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+    while (true) {
+      try {
+        get("sample/users/0");
+        return;
+      } catch (ConnectException e) {
+        if (!process.isAlive() || System.nanoTime() > deadline) {
+          throw new IllegalStateException("application did not start", e);
+        }
+        Thread.sleep(5);
+      }
+    }
+  }
+
+  private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+    return client.send(HttpRequest.newBuilder(base.resolve(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  /**
+   * VmRSS of the process, from procfs.
+   */
+  private static long residentMemoryKb(long pid) throws IOException {
+    for (var line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+      if (line.startsWith("VmRSS:")) {
+        return Long.parseLong(line.replaceAll("\\D", ""));
+      }
+    }
+    throw new IllegalStateException("VmRSS not found for " + pid);
+  }
+}
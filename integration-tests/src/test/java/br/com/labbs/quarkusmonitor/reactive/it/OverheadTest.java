@@ -0,0 +1,33 @@
+package br.com.labbs.quarkusmonitor.reactive.it;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compare the monitored run with the baseline, failing when the throughput drops or the p99 latency grows more than the allowed
+ * fractions.
+ */
+@Order(3)
+class OverheadTest {
+
+  private static final double MAX_THROUGHPUT_DROP = Double.parseDouble(System.getProperty("overhead.max-throughput-drop", "0.15"));
+  private static final double MAX_P99_INCREASE = Double.parseDouble(System.getProperty("overhead.max-p99-increase", "0.25"));
+
+  @Test
+  void overheadWithinThresholds() {
+    var monitored = LoadDriver.Result.read("monitored");
+    var baseline = LoadDriver.Result.read("baseline");
+    assumeTrue(monitored != null && baseline != null, "both load runs are needed");
+
+    var throughputDrop = 1 - monitored.throughput() / baseline.throughput();
+    var p99Increase = (double) monitored.p99() / baseline.p99() - 1;
+
+    assertTrue(throughputDrop <= MAX_THROUGHPUT_DROP, String.format("throughput dropped %.1f%%, monitored %s, baseline %s",
+        throughputDrop * 100, monitored, baseline));
+    assertTrue(p99Increase <= MAX_P99_INCREASE, String.format("p99 grew %.1f%%, monitored %s, baseline %s",
+        p99Increase * 100, monitored, baseline));
+  }
+}
@@ -1,25 +1,29 @@
 package br.com.labbs.quarkusmonitor.reactive;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.com.labbs.quarkusmonitor.reactive.core.DependencyChecker;
+import br.com.labbs.quarkusmonitor.reactive.core.DependencyTiming;
 import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 import br.com.labbs.quarkusmonitor.reactive.model.DependencyEvent;
 import br.com.labbs.quarkusmonitor.reactive.model.DependencyState;
@@ -29,15 +33,21 @@ public class MonitorMetrics {
 
   private static final Logger LOG = LoggerFactory.getLogger(MonitorMetrics.class);
   public static final MonitorMetrics INSTANCE = new MonitorMetrics();
-  private static final BigDecimal MULTIPLIER_NANO_TO_SECONDS = BigDecimal.valueOf(1.0E9D);
-  private final Map<String, ScheduledExecutorService> schedulesCheckers;
+  private static final double MULTIPLIER_NANO_TO_SECONDS = 1.0E9D;
+  private static final String OTHER = "other";
+  private final ConcurrentMap<String, DependencyChecker> schedulesCheckers;
+  private volatile ScheduledExecutorService checkersExecutor;
+  private final ConcurrentMap<String, DependencyTiming> dependencyTimings = new ConcurrentHashMap<>();
 
   private MonitorMetrics() {
-    schedulesCheckers = new HashMap<>();
+    schedulesCheckers = new ConcurrentHashMap<>();
   }
 
   /**
-   * Add dependency to be checked successive between the period
+   * Add dependency to be checked successive between the period. All checkers share the same scheduler, and the first check of each one
+   * happens at a random moment within the first period, so checkers added together do not run at the same time. The scheduler only
+   * triggers the checks, the task runs out of its threads as in
+   * {@link #addDependencyChecker(String, Supplier, long, TimeUnit, Duration)}, so a blocking probe does not delay the other checkers.
    *
    * @param name name of dependency checker
    * @param task task for dependency checker
@@ -46,27 +56,55 @@ public class MonitorMetrics {
    */
   public void addDependencyChecker(String name, Supplier<DependencyState> task, long time,
       TimeUnit unit) {
-    if (schedulesCheckers.containsKey(name)) {
-      cancelDependencyChecker(name);
-    }
+    addDependencyChecker(name, task, time, unit, null);
+  }
 
-    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  /**
+   * Add a blocking dependency check to be executed successive between the period, out of the scheduler threads and reporting the
+   * dependency as down when the check does not finish within the timeout. The checks run in a thread of the checker, a virtual thread
+   * when quarkus.b5.monitor.dependency-checker-virtual-threads is enabled on Java 21 or later, so a hung call never holds a thread of
+   * the application pools. While a call is still running after the timeout, the next checks report the dependency as down without
+   * calling the task again.
+   *
+   * @param name name of dependency checker
+   * @param task task for dependency checker
+   * @param time time in unit between the end of a check and the start of the next one
+   * @param unit unit of time for task executions
+   * @param timeout maximum duration of a check
+   */
+  public void addDependencyChecker(String name, Supplier<DependencyState> task, long time,
+      TimeUnit unit, Duration timeout) {
+    var period = unit.toNanos(time);
+    scheduleChecker(name, DependencyChecker.blocking(name, task, period, timeout, checkersExecutor(),
+        Metrics.current().settings().dependencyCheckerVirtualThreads()), period);
+  }
 
-    executor.scheduleWithFixedDelay(() -> {
-      if (DependencyState.UP.equals(task.get())) {
-        LOG.debug("Checker: {} is UP", name);
-        Metrics.dependencyUp(name);
-      } else {
-        LOG.debug("Checker: {} is DOWN", name);
-        Metrics.dependencyDown(name);
-      }
-    }, time, time, unit);
+  /**
+   * Add a non-blocking dependency check to be executed successive between the period, reporting the dependency as down when the check
+   * does not emit a state within the timeout.
+   *
+   * @param name name of dependency checker
+   * @param task supplier of the check, called for each check
+   * @param time time in unit between the end of a check and the start of the next one
+   * @param unit unit of time for task executions
+   * @param timeout maximum duration of a check
+   */
+  public void addReactiveDependencyChecker(String name, Supplier<Uni<DependencyState>> task, long time,
+      TimeUnit unit, Duration timeout) {
+    var period = unit.toNanos(time);
+    scheduleChecker(name, new DependencyChecker(name, task, period, timeout, checkersExecutor()), period);
+  }
 
-    schedulesCheckers.put(name, executor);
+  private void scheduleChecker(String name, DependencyChecker checker, long period) {
+    var previous = schedulesCheckers.put(name, checker);
+    if (previous != null) {
+      previous.cancel();
+    }
+    checker.start(1 + ThreadLocalRandom.current().nextLong(Math.max(1, period)));
   }
 
   /**
-   * Cancel all scheduled dependency checkers and terminates the executor timer.
+   * Cancel all scheduled dependency checkers.
    */
   public void cancelAllDependencyCheckers() {
     var listOfKeys = new HashSet<>(schedulesCheckers.keySet());
@@ -74,30 +112,42 @@ public class MonitorMetrics {
   }
 
   /**
-   * Cancel the scheduled dependency checker and terminates the executor timer.
+   * Cancel the scheduled dependency checker, without waiting for a check in execution to finish.
    *
    * @param name dependency checker
    */
   public void cancelDependencyChecker(String name) {
-    ScheduledExecutorService executor = schedulesCheckers.get(name);
-    try {
-      LOG.debug("attempt to shutdown executor {}", name);
-      executor.shutdown();
-      if (executor.awaitTermination(1, TimeUnit.SECONDS)){
-        LOG.debug("tasks shutdown in executor {} successfully.", name);
-      } else {
-        LOG.debug("tasks interrupted in executor {}", name);
-      }
-    } catch (InterruptedException e) {
-      LOG.debug("tasks interrupted in executor {}", name);
-    } finally {
-      if (!executor.isTerminated()) {
-        LOG.debug("cancel non-finished tasks in executor {}", name);
+    var checker = schedulesCheckers.remove(name);
+    if (checker != null) {
+      LOG.debug("cancel checker {}", name);
+      checker.cancel();
+    }
+  }
+
+  private ScheduledExecutorService checkersExecutor() {
+    var executor = checkersExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = checkersExecutor;
+        if (executor == null) {
+          executor = createCheckersExecutor();
+          checkersExecutor = executor;
+        }
       }
-      executor.shutdownNow();
-      LOG.debug("shutdown finished in executor {}", name);
-      schedulesCheckers.remove(name);
     }
+    return executor;
+  }
+
+  private static ScheduledExecutorService createCheckersExecutor() {
+    var threads = Metrics.current().settings().dependencyCheckerThreads();
+    var counter = new AtomicInteger();
+    var executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), runnable -> {
+      var thread = new Thread(runnable, "b5-dependency-checker-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
   }
 
   private final Function<DependencyEvent, String[]> dependencyEventFunction = event -> new String[]{
@@ -149,6 +199,80 @@ public class MonitorMetrics {
     Metrics.dependencyRequestSeconds(dependencyEventFunction.apply(event), elapsedSeconds, bucketList, metricUnit);
   }
 
+  /**
+   * Add a dependency event to be monitored with elapsed time in nanoseconds, as measured with {@link System#nanoTime()}
+   *
+   * @param event properties of event to be monitored
+   * @param elapsedNanos time in nanoseconds to be register in metric
+   */
+  public void addDependencyEventNanos(DependencyEvent event, long elapsedNanos) {
+    Metrics.dependencyRequestNanos(dependencyEventFunction.apply(event), elapsedNanos);
+  }
+
+  /**
+   * Time the calls to a dependency made by the Uni, from the subscription to the item, failure or cancellation, with type other and
+   * empty method and address. The timers are resolved once by dependency name, and nothing blocks.
+   *
+   * @param name name of the dependency
+   * @param uni call to the dependency
+   * @param <T> type of the item
+   * @return the Uni recording dependency_request_seconds for each subscription
+   */
+  public <T> Uni<T> timeDependency(String name, Uni<T> uni) {
+    return dependencyTiming(name).time(uni);
+  }
+
+  /**
+   * Time the calls to a dependency made by the Uni, from the subscription to the item, failure or cancellation, with the name, type,
+   * method and address of the event. Status, isError and errorMessage of the event are replaced by the outcome of the call.
+   *
+   * @param event labels of the dependency
+   * @param uni call to the dependency
+   * @param <T> type of the item
+   * @return the Uni recording dependency_request_seconds for each subscription
+   */
+  public <T> Uni<T> timeDependency(DependencyEvent event, Uni<T> uni) {
+    return dependencyTiming(event).time(uni);
+  }
+
+  /**
+   * Time the calls to a dependency made by the Multi, from the subscription to the completion, failure or cancellation, with type
+   * other and empty method and address.
+   *
+   * @param name name of the dependency
+   * @param multi call to the dependency
+   * @param <T> type of the items
+   * @return the Multi recording dependency_request_seconds for each subscription
+   */
+  public <T> Multi<T> timeDependency(String name, Multi<T> multi) {
+    return dependencyTiming(name).time(multi);
+  }
+
+  /**
+   * Time the calls to a dependency made by the Multi, from the subscription to the completion, failure or cancellation, with the name,
+   * type, method and address of the event.
+   *
+   * @param event labels of the dependency
+   * @param multi call to the dependency
+   * @param <T> type of the items
+   * @return the Multi recording dependency_request_seconds for each subscription
+   */
+  public <T> Multi<T> timeDependency(DependencyEvent event, Multi<T> multi) {
+    return dependencyTiming(event).time(multi);
+  }
+
+  private DependencyTiming dependencyTiming(String name) {
+    var timing = dependencyTimings.get(name);
+    if (timing == null) {
+      timing = dependencyTimings.computeIfAbsent(name, key -> new DependencyTiming(key, OTHER, "", ""));
+    }
+    return timing;
+  }
+
+  private static DependencyTiming dependencyTiming(DependencyEvent event) {
+    return new DependencyTiming(event.getName(), event.getType(), event.getMethod(), event.getAddress());
+  }
+
   /**
    * Get all checkers in execution
    *
@@ -168,6 +292,16 @@ public class MonitorMetrics {
     Metrics.requestSeconds(requestEventFunction.apply(event), elapsedSeconds);
   }
 
+  /**
+   * Add a request event to be monitored with elapsed time in nanoseconds, as measured with {@link System#nanoTime()}
+   *
+   * @param event properties of event to be monitored
+   * @param elapsedNanos time in nanoseconds to be register in metric
+   */
+  public void addRequestEventNanos(RequestEvent event, long elapsedNanos) {
+    Metrics.requestNanos(requestEventFunction.apply(event), elapsedNanos);
+  }
+
   /**
    * Add a request event to be monitored with elapsed time using ChronoUnit.MILLIS as timeunit
    *
@@ -198,9 +332,17 @@ public class MonitorMetrics {
    * @return time in seconds
    */
   public static double calcTimeElapsedInSeconds(Instant init) {
-    var finish = Instant.now();
-    BigDecimal diff = new BigDecimal(Duration.between(init, finish).toNanos());
-    return diff.divide(MULTIPLIER_NANO_TO_SECONDS, 9, RoundingMode.HALF_UP).doubleValue();
+    return Duration.between(init, Instant.now()).toNanos() / MULTIPLIER_NANO_TO_SECONDS;
+  }
+
+  /**
+   * Calculate the elapsed time in nanoseconds
+   *
+   * @param startNanos initial time from {@link System#nanoTime()}
+   * @return time in nanoseconds
+   */
+  public static long calcTimeElapsedInNanos(long startNanos) {
+    return System.nanoTime() - startNanos;
   }
 
 }
\ No newline at end of file
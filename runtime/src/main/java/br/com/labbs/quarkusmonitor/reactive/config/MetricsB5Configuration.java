@@ -1,5 +1,10 @@
 package br.com.labbs.quarkusmonitor.reactive.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 import io.quarkus.runtime.annotations.ConfigItem;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
@@ -39,9 +44,150 @@ public interface MetricsB5Configuration {
     @WithDefault("false")
     boolean enableHttpResponseSize();
 
+    /**
+     * Define to turn on or off the http request size, default false
+     */
+    @WithDefault("false")
+    boolean enableHttpRequestSize();
+
     /**
      * Define the key for error messages put in the request attribute
      */
     @WithDefault("error-info")
     String errorMessage();
+
+    /**
+     * Define the maximum number of series of each metric, new series beyond it have addr and errorMessage folded into __overflow__.
+     * Zero or less disables the limit.
+     */
+    @WithDefault("10000")
+    int maxSeries();
+
+    /**
+     * Define the maximum number of distinct values of a label in each metric, by label key, e.g. addr or errorMessage.
+     * Values beyond it are folded into __overflow__
+     */
+    Map<String, Integer> maxLabelValues();
+
+    /**
+     * Define regular expressions replaced by * in the errorMessage label, e.g. to remove ids from the messages
+     */
+    Optional<List<String>> errorMessagePatterns();
+
+    /**
+     * Define the number of threads shared by the dependency checkers
+     */
+    @WithDefault("2")
+    int dependencyCheckerThreads();
+
+    /**
+     * Define to run the blocking dependency checkers with timeout in virtual threads, when supported by the JVM
+     */
+    @WithDefault("false")
+    boolean dependencyCheckerVirtualThreads();
+
+    /**
+     * Define the asynchronous recording of the request and dependency timers
+     */
+    AsyncRecording asyncRecording();
+
+    /**
+     * Define the instrumentation of the http requests at the Vert.x router, covering the routes outside of JAX-RS
+     */
+    VertxRoutes vertxRoutes();
+
+    /**
+     * Define the recording of the streaming responses at their end
+     */
+    StreamingCompletion streamingCompletion();
+
+    /**
+     * Define the breakdown of the server latency in phases
+     */
+    PhaseBreakdown phaseBreakdown();
+
+    /**
+     * Define the probe of the Vert.x event loops lag
+     */
+    EventLoopLag eventLoopLag();
+
+    /**
+     * Define the registration of the meters of the known routes and rest clients at startup
+     */
+    Warmup warmup();
+
+    interface AsyncRecording {
+        /**
+         * Record the timers in a background thread instead of the request thread
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Define the capacity of the buffer of events waiting to be recorded, rounded up to a power of two
+         */
+        @WithDefault("8192")
+        int capacity();
+
+        /**
+         * Define to drop the events when the buffer is full, otherwise they are recorded in the request thread
+         */
+        @WithDefault("true")
+        boolean dropOnFull();
+    }
+
+    interface VertxRoutes {
+        /**
+         * Record request_seconds at the Vert.x router for the requests not handled by a JAX-RS resource method, like reactive routes
+         * and static resources, with the route pattern as addr
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
+
+    interface StreamingCompletion {
+        /**
+         * Record request_seconds of the resource methods returning a Multi when the response ends instead of when the response
+         * filter runs, together with request_first_byte_seconds and response_items
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
+
+    interface PhaseBreakdown {
+        /**
+         * Record request_phase_seconds with the queue, handler and serialization phases of the JAX-RS requests
+         */
+        @WithDefault("false")
+        boolean enabled();
+    }
+
+    interface EventLoopLag {
+        /**
+         * Record event_loop_lag_seconds with the delay of each Vert.x event loop to run a submitted task
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Define the interval between two probes of the same event loop
+         */
+        @WithDefault("1s")
+        Duration interval();
+    }
+
+    interface Warmup {
+        /**
+         * Register at startup the request_seconds series of the JAX-RS resource methods and the dependency_request_seconds series of
+         * the rest client methods, so the first requests do not register meters and the series are exported before any traffic
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Define the status codes of the series registered for each route and rest client method
+         */
+        @WithDefault("200")
+        List<Integer> statuses();
+    }
 }
@@ -0,0 +1,636 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import br.com.labbs.quarkusmonitor.reactive.config.MetricsB5Configuration;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Recording of the b5 metrics in a meter registry, with its own meter cache and cardinality limit. The application instance is bound to
+ * the static {@link Metrics} API at runtime init; other instances, e.g. with a {@code SimpleMeterRegistry} in tests, are isolated from
+ * it.
+ */
+@ApplicationScoped
+public class B5Metrics {
+
+  private static final String TYPE = "type";
+  private static final String STATUS = "status";
+  private static final String METHOD = "method";
+  private static final String ADDR = "addr";
+  private static final String IS_ERROR = "isError";
+  private static final String ERROR_MESSAGE = "errorMessage";
+  private static final String NAME = "name";
+  private static final String VERSION = "version";
+  private static final String RESULT = "result";
+  private static final String PHASE = "phase";
+  private static final String LOOP = "loop";
+
+  private static final List<String> tagsKeysRequest = Arrays
+      .asList(TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE);
+  private static final List<String> tagsKeysDependency = Arrays
+      .asList(NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE);
+  private static final List<String> tagsKeysDependencyCheck = Arrays.asList(NAME, RESULT);
+  private static final List<String> tagsKeysRequestPhase = Arrays.asList(PHASE, METHOD, ADDR);
+  private static final List<String> tagsKeysEventLoopLag = Collections.singletonList(LOOP);
+
+  private static final int MAX_OVERFLOW_ALIASES = 10_000;
+
+  private static final ConcurrentMap<String, Duration[]> serviceLevelObjectivesMap = new ConcurrentHashMap<>();
+  private static final ThreadLocal<MeterKey> lookupKey = ThreadLocal.withInitial(MeterKey::new);
+  private static final ThreadLocal<String[]> phaseLabels = ThreadLocal.withInitial(() -> new String[3]);
+
+  private final MeterRegistry registry;
+  private final MetricsSettings settings;
+  private final ConcurrentMap<String, AtomicInteger> dependencyGaugeMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, LongAdder> responseSizeMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, LongAdder> requestSizeMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> requestInflightMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> dependencyInflightMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, Timer> timerMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, DistributionSummary> summaryMap = new ConcurrentHashMap<>();
+  private final ConcurrentMap<MeterKey, MeterKey> overflowAliases = new ConcurrentHashMap<>();
+  private final AtomicInteger appInfoGaugeMap = new AtomicInteger(0);
+
+  private final CardinalityLimiter cardinalityLimiter;
+  private final RecordingPipeline recordingPipeline;
+
+  public static final String APP_INFO = "application_info";
+  public static final String RESPONSE_SIZE = "response_size";
+  public static final String REQUEST_SIZE = "request_size";
+  public static final String DEPENDENCY_REQUEST = "dependency_request";
+  public static final String REQUEST = "request";
+  public static final String REQUEST_FIRST_BYTE = "request_first_byte";
+  public static final String REQUEST_PHASE = "request_phase";
+  public static final String RESPONSE_ITEMS = "response_items";
+  public static final String DEPENDENCY_UP = "dependency_up";
+  public static final String REQUEST_INFLIGHT = "request_inflight";
+  public static final String DEPENDENCY_INFLIGHT = "dependency_inflight";
+  public static final String DEPENDENCY_CHECK = "dependency_check";
+  public static final String EVENT_LOOP_LAG = "event_loop_lag";
+
+  private static final BiFunction<double[], TemporalUnit, Duration[]> durationBucketDefaultFunction =
+      (values, unit) -> Arrays.stream(values).mapToObj(v -> Duration.of(secondsToUnit(v, unit), unit)).toArray(Duration[]::new);
+
+  @Inject
+  public B5Metrics(MeterRegistry registry, MetricsB5Configuration configuration) {
+    this(registry, MetricsSettings.from(configuration));
+  }
+
+  /**
+   * @param registry registry where the metrics are registered
+   * @param settings settings of the recording
+   */
+  public B5Metrics(MeterRegistry registry, MetricsSettings settings) {
+    this.registry = registry;
+    this.settings = settings;
+    this.cardinalityLimiter = new CardinalityLimiter(registry, settings.maxSeries(), settings.maxLabelValues(),
+        List.of(ADDR, ERROR_MESSAGE), ERROR_MESSAGE, settings.errorMessagePatterns());
+    this.recordingPipeline = settings.asyncRecording()
+        ? new RecordingPipeline(registry, settings.asyncRecordingCapacity(), settings.asyncRecordingDropOnFull())
+        : null;
+    registry.config().onMeterRemoved(this::evictMeter);
+  }
+
+  public MeterRegistry registry() {
+    return registry;
+  }
+
+  public MetricsSettings settings() {
+    return settings;
+  }
+
+  /**
+   * Create a dependency request metric in seconds with name dependency_request_seconds and tag values for the following tag keys NAME,
+   * TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param seconds how long time did the dependency request has executed
+   */
+  public void dependencyRequestSeconds(String[] tagsValues, double seconds) {
+    dependencyRequestNanos(tagsValues, secondsToNanoseconds(seconds));
+  }
+
+  /**
+   * Create a dependency request metric in seconds with name dependency_request_seconds and tag values for the following tag keys NAME,
+   * TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param nanos how long time did the dependency request has executed in nanoseconds
+   */
+  public void dependencyRequestNanos(String[] tagsValues, long nanos) {
+    recordNanos(dependencyRequestTimer(tagsValues), nanos);
+  }
+
+  private Timer dependencyRequestTimer(String[] tagsValues) {
+    return createTimer(DEPENDENCY_REQUEST,
+        "records in a histogram the number of requests of a dependency and their duration in seconds",
+        tagsKeysDependency, tagsValues);
+  }
+
+  /**
+   * Create a dependency request metric in seconds with name dependency_request_seconds and tag values for the following tag keys NAME,
+   * TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE.
+   * @param seconds how long time did the dependency request has executed.
+   * @param bucketList array of double values for bucket
+   * @param timeUnit Unit of time in Milis, seconds for metric and buckets.
+   */
+  public void dependencyRequestSeconds(String[] tagsValues, double seconds, double[] bucketList, TemporalUnit timeUnit) {
+    record(createTimer(DEPENDENCY_REQUEST,
+        "records in a histogram the number of requests of a dependency and their duration in seconds",
+        tagsKeysDependency, tagsValues, bucketList, timeUnit),
+        seconds, timeUnit);
+  }
+
+  /**
+   * Create a dependency check metric in seconds with name dependency_check_seconds and tag values for the tag keys NAME, RESULT
+   *
+   * @param dependencyName name of the dependency checked
+   * @param result result of the check: up, down, timeout or error
+   * @param nanos how long time did the check has executed in nanoseconds
+   */
+  public void dependencyCheckNanos(String dependencyName, String result, long nanos) {
+    createTimer(DEPENDENCY_CHECK,
+        "records in a histogram the number of checks of a dependency and their duration in seconds",
+        tagsKeysDependencyCheck, new String[]{dependencyName, result})
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Create an event loop lag metric in seconds with name event_loop_lag_seconds and the tag key LOOP
+   *
+   * @param loop name of the event loop thread
+   * @param nanos delay between the submission of a task to the loop and its execution in nanoseconds
+   */
+  public void eventLoopLagNanos(String loop, long nanos) {
+    recordNanos(createTimer(EVENT_LOOP_LAG,
+        "records in a histogram the delay of the Vert.x event loops to run a submitted task in seconds",
+        tagsKeysEventLoopLag, new String[]{loop}), nanos);
+  }
+
+  /**
+   * Create a request metric in seconds with name request_seconds and tag values for the following tag keys TYPE, STATUS, METHOD, ADDR,
+   * IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param seconds how long time did the request has executed
+   */
+  public void requestSeconds(String[] tagsValues, double seconds) {
+    requestNanos(tagsValues, secondsToNanoseconds(seconds));
+  }
+
+  /**
+   * Create a request metric in seconds with name request_seconds and tag values for the following tag keys TYPE, STATUS, METHOD, ADDR,
+   * IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param nanos how long time did the request has executed in nanoseconds
+   */
+  public void requestNanos(String[] tagsValues, long nanos) {
+    recordNanos(requestTimer(tagsValues), nanos);
+  }
+
+  /**
+   * Register the request_seconds series of the tag values without recording, so the first request with these values does not pay for
+   * the registration
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public void registerRequest(String[] tagsValues) {
+    requestTimer(tagsValues);
+  }
+
+  /**
+   * Register the dependency_request_seconds series of the tag values without recording, so the first request with these values does
+   * not pay for the registration
+   *
+   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public void registerDependencyRequest(String[] tagsValues) {
+    dependencyRequestTimer(tagsValues);
+  }
+
+  private Timer requestTimer(String[] tagsValues) {
+    return createTimer(REQUEST,
+        "records in a histogram the number of http requests and their duration in seconds",
+        tagsKeysRequest, tagsValues);
+  }
+
+  /**
+   * Create a time to first byte metric in seconds with name request_first_byte_seconds and tag values for the following tag keys TYPE,
+   * STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param nanos time from the start of the request to the write of the response headers in nanoseconds
+   */
+  public void requestFirstByteNanos(String[] tagsValues, long nanos) {
+    recordNanos(createTimer(REQUEST_FIRST_BYTE,
+        "records in a histogram the time until the first byte of the streaming http responses in seconds",
+        tagsKeysRequest, tagsValues), nanos);
+  }
+
+  /**
+   * Create a request phase metric in seconds with name request_phase_seconds and tag values for the tag keys PHASE, METHOD, ADDR
+   *
+   * @param phase phase of the request: queue, handler or serialization
+   * @param method http method of the request
+   * @param addr path template of the request
+   * @param nanos duration of the phase in nanoseconds
+   */
+  public void requestPhaseNanos(String phase, String method, String addr, long nanos) {
+    var labels = phaseLabels.get();
+    labels[0] = phase;
+    labels[1] = method;
+    labels[2] = addr;
+    recordNanos(createTimer(REQUEST_PHASE,
+        "records in a histogram the duration of the phases of the http requests in seconds",
+        tagsKeysRequestPhase, labels), nanos);
+  }
+
+  /**
+   * Create a metric with name response_items with the number of items of a streaming response and tag values for the following tag
+   * keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param items number of items written in the response
+   */
+  public void responseItems(String[] tagsValues, long items) {
+    var summary = findMeter(summaryMap, RESPONSE_ITEMS, tagsKeysRequest, tagsValues);
+    if (summary == null) {
+      summary = cachedMeter(summaryMap, RESPONSE_ITEMS, tagsKeysRequest, tagsValues, values -> DistributionSummary.builder(RESPONSE_ITEMS)
+          .description("records the number of items written by the streaming http responses")
+          .tags(tagWithValue(tagsKeysRequest, values))
+          .register(registry));
+    }
+    summary.record(items);
+  }
+
+  /**
+   * Create a request metric in seconds with name request_seconds and tag values for the following tag keys TYPE, STATUS, METHOD, ADDR,
+   * IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param seconds how long time did the request has executed
+   * @param bucketList array of double values for bucket
+   * @param timeUnit Unit of time in Milis, seconds for metric and buckets.
+   */
+  public void requestSeconds(String[] tagsValues, double seconds, double[] bucketList, TemporalUnit timeUnit) {
+    record(createTimer(REQUEST,
+        "records in a histogram the number of http requests and their duration in seconds",
+        tagsKeysRequest, tagsValues, bucketList, timeUnit),
+        seconds, timeUnit);
+  }
+
+  private Timer createTimer(String name, String description, List<String> tagsKeys, String[] tagsValues) {
+    return createTimer(name, description, tagsKeys, tagsValues, settings.serviceLevelObjectives());
+  }
+
+  private Timer createTimer(String name, String description, List<String> tagsKeys, String[] tagsValues,
+      double[] bucketList, TemporalUnit unit) {
+    return createTimer(name, description, tagsKeys, tagsValues, serviceLevelObjectives(bucketList, unit));
+  }
+
+  private Timer createTimer(String name, String description, List<String> tagsKeys, String[] tagsValues,
+      Duration[] serviceLevelObjectives) {
+    var timer = findMeter(timerMap, name, tagsKeys, tagsValues);
+    if (timer != null) {
+      return timer;
+    }
+    return cachedMeter(timerMap, name, tagsKeys, tagsValues, values -> Timer.builder(name)
+        .description(description)
+        .tags(tagWithValue(tagsKeys, values))
+        .serviceLevelObjectives(serviceLevelObjectives)
+        .register(registry));
+  }
+
+  /**
+   * Get the cached meter for the tag values, or its overflow alias, without registering it. The callers look the meter up with it
+   * before building their registration function, which captures its arguments and would otherwise be allocated on each record.
+   *
+   * @return the cached meter or null if it is not registered yet
+   */
+  private <T> T findMeter(ConcurrentMap<MeterKey, T> meters, String name, List<String> tagsKeys, String[] tagsValues) {
+    var values = cardinalityLimiter.normalize(tagsKeys, tagsValues);
+    var lookup = lookupKey.get().reset(name, tagsKeys.size(), values);
+    var meter = meters.get(lookup);
+    if (meter != null) {
+      return meter;
+    }
+    var alias = overflowAliases.get(lookup);
+    return alias != null ? meters.get(alias) : null;
+  }
+
+  /**
+   * Get the cached meter for the tag values, registering it on the first use. New series go through the cardinality limiter, which may
+   * fold their values into the overflow series. The values it folded are kept as an alias of the overflow series, up to
+   * {@link #MAX_OVERFLOW_ALIASES}, so the next records with them also take the fast path.
+   */
+  private <T> T cachedMeter(ConcurrentMap<MeterKey, T> meters, String name, List<String> tagsKeys, String[] tagsValues,
+      Function<String[], T> register) {
+    var meter = findMeter(meters, name, tagsKeys, tagsValues);
+    if (meter != null) {
+      return meter;
+    }
+
+    var values = cardinalityLimiter.normalize(tagsKeys, tagsValues);
+    var limitedValues = cardinalityLimiter.limit(name, tagsKeys, values);
+    var key = MeterKey.of(name, tagsKeys.size(), limitedValues);
+    meter = meters.computeIfAbsent(key, k -> {
+      var created = register.apply(limitedValues);
+      cardinalityLimiter.seriesCreated(name);
+      return created;
+    });
+
+    var rawKey = MeterKey.of(name, tagsKeys.size(), values);
+    if (!rawKey.equals(key) && overflowAliases.size() < MAX_OVERFLOW_ALIASES) {
+      overflowAliases.putIfAbsent(rawKey, key);
+    }
+    return meter;
+  }
+
+  private static Duration[] serviceLevelObjectives(double[] bucketList, TemporalUnit unit) {
+    return serviceLevelObjectivesMap.computeIfAbsent(unit + Arrays.toString(bucketList),
+        k -> durationBucketDefaultFunction.apply(bucketList, unit));
+  }
+
+  private void recordNanos(Timer timer, long nanos) {
+    if (recordingPipeline != null) {
+      recordingPipeline.publish(timer, nanos);
+    } else {
+      timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static void record(Timer timer, double seconds, TemporalUnit unit) {
+    if (unit == ChronoUnit.MILLIS) {
+      timer.record(secondsToUnit(seconds, unit), TimeUnit.MILLISECONDS);
+    } else {
+      timer.record(Duration.of(secondsToUnit(seconds, unit), unit));
+    }
+  }
+
+  private static long secondsToNanoseconds(double seconds) {
+    var result = seconds * 1.0E9D;
+    if (result > Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    return (long) result;
+  }
+
+  /**
+   * Whole number of units in the seconds, e.g. 250 for 0.25 seconds in milliseconds.
+   */
+  private static long secondsToUnit(double seconds, TemporalUnit unit) {
+    var result = seconds * (1.0E9D / unit.getDuration().toNanos());
+    if (result > Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    return (long) result;
+  }
+
+  /**
+   * Create a appliction info metric to show the version of application in the tag value
+   *
+   * @param version version of application
+   */
+  public void applicationInfo(String version) {
+    var tagVersion = Collections.singletonList(Tag.of(VERSION, version));
+    appInfoGaugeMap.set(1);
+    if (registry.find(APP_INFO).tags(tagVersion).gauge() == null) {
+      Gauge.builder(APP_INFO, appInfoGaugeMap::get)
+          .description("holds static info of an application, such as it's semantic version number")
+          .tags(tagVersion)
+          .register(registry);
+    }
+  }
+
+  /**
+   * Add to the response size counter in bytes with name response_size_bytes and tag values for the following tag keys TYPE, STATUS,
+   * METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param size size of response in bytes.
+   */
+  public void responseSizeBytes(String[] tagsValues, double size) {
+    var total = findMeter(responseSizeMap, RESPONSE_SIZE, tagsKeysRequest, tagsValues);
+    if (total == null) {
+      total = cachedMeter(responseSizeMap, RESPONSE_SIZE, tagsKeysRequest, tagsValues, values -> {
+        var counter = new LongAdder();
+        FunctionCounter.builder(RESPONSE_SIZE, counter, LongAdder::sum)
+            .description("is a counter that computes how much data is being sent back to the user for a given request type")
+            .tags(tagWithValue(tagsKeysRequest, values))
+            .baseUnit("bytes")
+            .register(registry);
+        return counter;
+      });
+    }
+    total.add((long) size);
+  }
+
+  /**
+   * Add to the request size counter in bytes with name request_size_bytes and tag values for the following tag keys TYPE, STATUS,
+   * METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   *
+   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * @param size size of the request body in bytes.
+   */
+  public void requestSizeBytes(String[] tagsValues, double size) {
+    var total = findMeter(requestSizeMap, REQUEST_SIZE, tagsKeysRequest, tagsValues);
+    if (total == null) {
+      total = cachedMeter(requestSizeMap, REQUEST_SIZE, tagsKeysRequest, tagsValues, values -> {
+        var counter = new LongAdder();
+        FunctionCounter.builder(REQUEST_SIZE, counter, LongAdder::sum)
+            .description("is a counter that computes how much data is being received from the user for a given request type")
+            .tags(tagWithValue(tagsKeysRequest, values))
+            .baseUnit("bytes")
+            .register(registry);
+        return counter;
+      });
+    }
+    total.add((long) size);
+  }
+
+  /**
+   * Create a metric with name dependency_up to show if a dependency is up
+   *
+   * @param dependencyName name of dependency in tag value of metric
+   */
+  public void dependencyUp(String dependencyName) {
+    gaugeDependency(dependencyName).set(1);
+  }
+
+  /**
+   * Create a metric with name dependency_up to show if a dependency is down
+   *
+   * @param dependencyName name of dependency in tag value of metric
+   */
+  public void dependencyDown(String dependencyName) {
+    gaugeDependency(dependencyName).set(0);
+  }
+
+  /**
+   * Counter of the http requests in flight of a route, exported in the gauge request_inflight with the tag key ADDR. The caller must
+   * decrement it exactly once for each increment.
+   *
+   * @param addr path template of the route
+   * @return the striped counter of the route
+   */
+  public LongAdder requestInflight(String addr) {
+    return inflight(requestInflightMap, REQUEST_INFLIGHT, ADDR, addr,
+        "is a metric of the number of http requests of a route being processed");
+  }
+
+  /**
+   * Counter of the calls in flight of a dependency, exported in the gauge dependency_inflight with the tag key NAME. The caller must
+   * decrement it exactly once for each increment.
+   *
+   * @param dependencyName name of the dependency
+   * @return the striped counter of the dependency
+   */
+  public LongAdder dependencyInflight(String dependencyName) {
+    return inflight(dependencyInflightMap, DEPENDENCY_INFLIGHT, NAME, dependencyName,
+        "is a metric of the number of requests to a dependency waiting for their response");
+  }
+
+  /**
+   * Get the counter of the tag value, registering its gauge on the first use. New values go through the cardinality limiter like the
+   * other series; a folded value is kept in the map as an alias of the overflow counter.
+   */
+  private LongAdder inflight(ConcurrentMap<String, LongAdder> counters, String name, String tagKey, String tagValue,
+      String description) {
+    var value = counters.get(tagValue);
+    if (value != null) {
+      return value;
+    }
+
+    var limitedValue = cardinalityLimiter.limit(name, List.of(tagKey), new String[]{tagValue})[0];
+    var inflight = counters.computeIfAbsent(limitedValue, key -> {
+      var counter = new LongAdder();
+      Gauge.builder(name, counter, LongAdder::sum)
+          .description(description)
+          .tags(Collections.singletonList(Tag.of(tagKey, key)))
+          .register(registry);
+      cardinalityLimiter.seriesCreated(name);
+      return counter;
+    });
+    if (!limitedValue.equals(tagValue) && counters.size() < MAX_OVERFLOW_ALIASES) {
+      counters.putIfAbsent(tagValue, inflight);
+    }
+    return inflight;
+  }
+
+  private void evictInflight(ConcurrentMap<String, LongAdder> counters, String name, String tagValue) {
+    var removed = tagValue != null ? counters.remove(tagValue) : null;
+    if (removed != null) {
+      // with the aliases folded into it
+      counters.values().removeIf(counter -> counter == removed);
+      cardinalityLimiter.seriesRemoved(name);
+    }
+  }
+
+  private AtomicInteger gaugeDependency(String dependencyName) {
+    var value = dependencyGaugeMap.get(dependencyName);
+    if (value != null) {
+      return value;
+    }
+    return dependencyGaugeMap.computeIfAbsent(dependencyName, name -> {
+      var state = new AtomicInteger(0);
+      Gauge.builder(DEPENDENCY_UP, state::get)
+          .description("is a metric to register weather a specific dependency is up (1) or down (0). "
+              + "The label name registers the dependency name")
+          .tags(Collections.singletonList(Tag.of(NAME, name)))
+          .register(registry);
+      return state;
+    });
+  }
+
+  /**
+   * Drop the cached handle of a meter removed from the registry, so the next record registers it again instead of updating a meter
+   * that is no longer exported.
+   */
+  private void evictMeter(Meter meter) {
+    var id = meter.getId();
+    switch (id.getName()) {
+      case REQUEST, REQUEST_FIRST_BYTE -> evictSeries(timerMap, id, tagsKeysRequest, meter);
+      case RESPONSE_ITEMS -> evictSeries(summaryMap, id, tagsKeysRequest, meter);
+      case EVENT_LOOP_LAG -> evictSeries(timerMap, id, tagsKeysEventLoopLag, meter);
+      case REQUEST_PHASE -> evictSeries(timerMap, id, tagsKeysRequestPhase, meter);
+      case DEPENDENCY_REQUEST -> evictSeries(timerMap, id, tagsKeysDependency, meter);
+      case DEPENDENCY_CHECK -> evictSeries(timerMap, id, tagsKeysDependencyCheck, meter);
+      case RESPONSE_SIZE -> evictSeries(responseSizeMap, id, tagsKeysRequest, null);
+      case REQUEST_SIZE -> evictSeries(requestSizeMap, id, tagsKeysRequest, null);
+      case REQUEST_INFLIGHT -> evictInflight(requestInflightMap, REQUEST_INFLIGHT, id.getTag(ADDR));
+      case DEPENDENCY_INFLIGHT -> evictInflight(dependencyInflightMap, DEPENDENCY_INFLIGHT, id.getTag(NAME));
+      case DEPENDENCY_UP -> {
+        if (id.getTag(NAME) != null) {
+          dependencyGaugeMap.remove(id.getTag(NAME));
+        }
+      }
+      default -> {
+        // not cached
+      }
+    }
+  }
+
+  /**
+   * Remove the cached series of a meter and the aliases folded into it, which are limited again on their next record. The aliases of
+   * the other series are kept.
+   *
+   * @param meter meter the series must still map to, or null for the series cached by their counter
+   */
+  private void evictSeries(ConcurrentMap<MeterKey, ?> meters, Meter.Id id, List<String> tagsKeys, Meter meter) {
+    var key = MeterKey.of(id, tagsKeys);
+    var removed = meter != null ? meters.remove(key, meter) : meters.remove(key) != null;
+    if (removed) {
+      overflowAliases.values().removeIf(key::equals);
+      cardinalityLimiter.seriesRemoved(id.getName());
+    }
+  }
+
+  /**
+   * Stop the background recording, applying the events already published. Called when the application shuts down.
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (recordingPipeline != null) {
+      recordingPipeline.close();
+    }
+  }
+
+  private static Collection<Tag> tagWithValue(List<String> tagsKeys, String[] tagsValues) {
+    var tagList = new ArrayList<Tag>();
+
+    for (int i = 0; i < tagsKeys.size(); i++) {
+      if (i < tagsValues.length) {
+        tagList.add(Tag.of(tagsKeys.get(i), tagsValues[i]));
+      } else {
+        tagList.add(Tag.of(tagsKeys.get(i), ""));
+      }
+    }
+
+    return tagList;
+  }
+}
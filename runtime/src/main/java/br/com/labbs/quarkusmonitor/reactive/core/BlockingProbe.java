@@ -0,0 +1,109 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import br.com.labbs.quarkusmonitor.reactive.model.DependencyState;
+import io.smallrye.mutiny.Uni;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Blocking check of a dependency, run in an executor owned by its checker: one daemon thread, released when idle, or a virtual thread
+ * by check. A call that hangs past the timeout of the check only holds this thread, never one of the application pools, and the
+ * checker skips its checks until the call returns.
+ */
+final class BlockingProbe implements Supplier<Uni<DependencyState>> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlockingProbe.class);
+  private static final int VIRTUAL_THREADS_VERSION = 21;
+  private static final long IDLE_SECONDS = 60;
+
+  private final Supplier<DependencyState> task;
+  private final ExecutorService executor;
+  private volatile boolean running;
+
+  /**
+   * @param name name of the dependency, used in the name of the thread
+   * @param task blocking check
+   * @param virtualThreads run the check in a virtual thread, when supported by the JVM
+   */
+  BlockingProbe(String name, Supplier<DependencyState> task, boolean virtualThreads) {
+    this.task = task;
+    this.executor = virtualThreads && virtualThreadsSupported(name) ? virtualThreadExecutor() : platformThreadExecutor(name);
+  }
+
+  /**
+   * @return true while a call of the check has not returned, even if the check already timed out
+   */
+  boolean running() {
+    return running;
+  }
+
+  @Override
+  public Uni<DependencyState> get() {
+    return Uni.createFrom().emitter(emitter -> {
+      running = true;
+      try {
+        executor.execute(() -> {
+          DependencyState state;
+          try {
+            state = task.get();
+          } catch (RuntimeException e) {
+            running = false;
+            emitter.fail(e);
+            return;
+          }
+          running = false;
+          emitter.complete(state);
+        });
+      } catch (RejectedExecutionException e) {
+        running = false;
+        emitter.fail(e);
+      }
+    });
+  }
+
+  /**
+   * Stop the executor, interrupting a call in execution.
+   */
+  void close() {
+    executor.shutdownNow();
+  }
+
+  private static boolean virtualThreadsSupported(String name) {
+    if (Runtime.version().feature() >= VIRTUAL_THREADS_VERSION) {
+      return true;
+    }
+    LOG.warn("Virtual threads require Java {}, the checker {} will use a platform thread", VIRTUAL_THREADS_VERSION, name);
+    return false;
+  }
+
+  private static ExecutorService virtualThreadExecutor() {
+    try {
+      // the extension is compiled for Java 17, the factory only exists from Java 21 on
+      MethodHandle factory = MethodHandles.publicLookup()
+          .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+      return (ExecutorService) factory.invokeExact();
+    } catch (Throwable e) {
+      throw new IllegalStateException("Could not create the virtual thread executor", e);
+    }
+  }
+
+  private static ExecutorService platformThreadExecutor(String name) {
+    var executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1), runnable -> {
+      var thread = new Thread(runnable, "b5-dependency-probe-" + name);
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+}
@@ -0,0 +1,155 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the number of series of each metric under control. Values of a label beyond its configured cap, and the unbounded labels of
+ * new series once a metric reached the maximum number of series, are folded into the {@link #OVERFLOW} value. Every folded value
+ * increments the cardinality_overflow counter of the metric and label; {@link B5Metrics} remembers the folded series, so the counter
+ * counts each of them once rather than each record.
+ */
+final class CardinalityLimiter {
+
+  static final String OVERFLOW = "__overflow__";
+  static final String CARDINALITY_OVERFLOW = "cardinality_overflow";
+
+  private final MeterRegistry registry;
+  private final int maxSeries;
+  private final Map<String, Integer> maxLabelValues;
+  private final List<String> unboundedLabels;
+  private final String errorMessageLabel;
+  private final List<Pattern> errorMessagePatterns;
+
+  private final ConcurrentMap<String, AtomicInteger> seriesCount = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Set<String>> labelValues = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> overflowCounters = new ConcurrentHashMap<>();
+
+  /**
+   * @param registry registry of the overflow counters
+   * @param maxSeries maximum number of series of each metric, zero or less for no limit
+   * @param maxLabelValues maximum number of distinct values by label key
+   * @param unboundedLabels labels folded in new series when a metric reached the maximum number of series
+   * @param errorMessageLabel label key of the error message
+   * @param errorMessagePatterns patterns replaced by {@code *} in the error message label
+   */
+  CardinalityLimiter(MeterRegistry registry, int maxSeries, Map<String, Integer> maxLabelValues, List<String> unboundedLabels,
+      String errorMessageLabel, List<Pattern> errorMessagePatterns) {
+    this.registry = registry;
+    this.maxSeries = maxSeries;
+    this.maxLabelValues = Map.copyOf(maxLabelValues);
+    this.unboundedLabels = List.copyOf(unboundedLabels);
+    this.errorMessageLabel = errorMessageLabel;
+    this.errorMessagePatterns = List.copyOf(errorMessagePatterns);
+  }
+
+  /**
+   * Apply the error message normalization rules, returns the same array when there is nothing to normalize.
+   *
+   * @param tagsKeys tag keys of the metric
+   * @param tagsValues values in the order of the tag keys
+   * @return values with the error message normalized
+   */
+  String[] normalize(List<String> tagsKeys, String[] tagsValues) {
+    if (errorMessagePatterns.isEmpty()) {
+      return tagsValues;
+    }
+    int index = tagsKeys.indexOf(errorMessageLabel);
+    if (index < 0 || index >= tagsValues.length || tagsValues[index] == null || tagsValues[index].isEmpty()) {
+      return tagsValues;
+    }
+
+    var message = tagsValues[index];
+    for (Pattern pattern : errorMessagePatterns) {
+      message = pattern.matcher(message).replaceAll("*");
+    }
+    if (message.equals(tagsValues[index])) {
+      return tagsValues;
+    }
+
+    var values = tagsValues.clone();
+    values[index] = message;
+    return values;
+  }
+
+  /**
+   * Values to be used for a series not registered yet, with the labels over their limits folded into {@link #OVERFLOW}.
+   *
+   * @param metric name of the metric
+   * @param tagsKeys tag keys of the metric
+   * @param tagsValues values in the order of the tag keys
+   * @return a new array with the values padded to the tag keys size
+   */
+  String[] limit(String metric, List<String> tagsKeys, String[] tagsValues) {
+    var values = new String[tagsKeys.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i < tagsValues.length && tagsValues[i] != null ? tagsValues[i] : "";
+    }
+
+    for (int i = 0; i < values.length; i++) {
+      var label = tagsKeys.get(i);
+      var cap = maxLabelValues.get(label);
+      if (cap != null && !acceptLabelValue(metric, label, values[i], cap)) {
+        values[i] = fold(metric, label);
+      }
+    }
+
+    if (maxSeries > 0 && series(metric).get() >= maxSeries) {
+      for (int i = 0; i < values.length; i++) {
+        var label = tagsKeys.get(i);
+        if (unboundedLabels.contains(label) && !OVERFLOW.equals(values[i])) {
+          values[i] = fold(metric, label);
+        }
+      }
+    }
+    return values;
+  }
+
+  void seriesCreated(String metric) {
+    series(metric).incrementAndGet();
+  }
+
+  void seriesRemoved(String metric) {
+    series(metric).decrementAndGet();
+  }
+
+  private AtomicInteger series(String metric) {
+    var count = seriesCount.get(metric);
+    return count != null ? count : seriesCount.computeIfAbsent(metric, k -> new AtomicInteger());
+  }
+
+  private boolean acceptLabelValue(String metric, String label, String value, int cap) {
+    var values = labelValues.computeIfAbsent(metric + '#' + label, k -> ConcurrentHashMap.newKeySet());
+    if (values.contains(value)) {
+      return true;
+    }
+    // check and add together, so concurrent new values cannot go over the cap
+    synchronized (values) {
+      if (values.contains(value)) {
+        return true;
+      }
+      if (values.size() >= cap) {
+        return false;
+      }
+      values.add(value);
+      return true;
+    }
+  }
+
+  private String fold(String metric, String label) {
+    overflowCounters.computeIfAbsent(metric + '#' + label, k -> Counter.builder(CARDINALITY_OVERFLOW)
+        .description("counts the label values folded into " + OVERFLOW + " to keep the number of series of a metric under the limits")
+        .tag("metric", metric)
+        .tag("label", label)
+        .register(registry))
+        .increment();
+    return OVERFLOW;
+  }
+}
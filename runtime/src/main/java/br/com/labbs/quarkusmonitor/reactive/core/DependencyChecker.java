@@ -0,0 +1,171 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import br.com.labbs.quarkusmonitor.reactive.model.DependencyState;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodic check of a dependency. The next check is scheduled when the previous one completes, so a slow probe never overlaps with
+ * itself, and a probe without result within the timeout reports the dependency as down. Each check updates dependency_up and records
+ * its duration in dependency_check_seconds.
+ *
+ * <p>A blocking probe runs in a thread owned by the checker. When its call is still running after the timeout, the next checks report
+ * the dependency as down with the result skipped instead of starting another call.
+ */
+public final class DependencyChecker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DependencyChecker.class);
+
+  private final String name;
+  private final Supplier<Uni<DependencyState>> probe;
+  private final long periodNanos;
+  private final Duration timeout;
+  private final ScheduledExecutorService scheduler;
+  private final BlockingProbe blockingProbe;
+
+  private volatile boolean cancelled;
+  private volatile ScheduledFuture<?> next;
+  private volatile Cancellable inFlight;
+
+  /**
+   * @param name name of the dependency
+   * @param probe supplier of the check, called for each check
+   * @param periodNanos delay between the end of a check and the start of the next one
+   * @param timeout maximum duration of a check, or null for no timeout
+   * @param scheduler scheduler shared by the checkers, only used to start the checks
+   */
+  public DependencyChecker(String name, Supplier<Uni<DependencyState>> probe, long periodNanos, Duration timeout,
+      ScheduledExecutorService scheduler) {
+    this(name, probe, null, periodNanos, timeout, scheduler);
+  }
+
+  private DependencyChecker(String name, Supplier<Uni<DependencyState>> probe, BlockingProbe blockingProbe, long periodNanos,
+      Duration timeout, ScheduledExecutorService scheduler) {
+    this.name = name;
+    this.probe = probe;
+    this.blockingProbe = blockingProbe;
+    this.periodNanos = periodNanos;
+    this.timeout = timeout;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Checker of a blocking probe, run out of the scheduler threads in a thread owned by the checker.
+   *
+   * @param name name of the dependency
+   * @param task blocking check, called for each check
+   * @param periodNanos delay between the end of a check and the start of the next one
+   * @param timeout maximum duration of a check, or null for no timeout
+   * @param scheduler scheduler shared by the checkers, only used to start the checks
+   * @param virtualThreads run the check in a virtual thread, when supported by the JVM
+   * @return the checker, not started
+   */
+  public static DependencyChecker blocking(String name, Supplier<DependencyState> task, long periodNanos, Duration timeout,
+      ScheduledExecutorService scheduler, boolean virtualThreads) {
+    var probe = new BlockingProbe(name, task, virtualThreads);
+    return new DependencyChecker(name, probe, probe, periodNanos, timeout, scheduler);
+  }
+
+  /**
+   * Schedule the first check.
+   *
+   * @param initialDelayNanos delay before the first check
+   */
+  public void start(long initialDelayNanos) {
+    schedule(initialDelayNanos);
+  }
+
+  /**
+   * Stop the checks without waiting for a check in execution, whose result is ignored. A blocking call in execution is interrupted.
+   */
+  public void cancel() {
+    cancelled = true;
+    var scheduled = next;
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+    var subscription = inFlight;
+    if (subscription != null) {
+      subscription.cancel();
+    }
+    if (blockingProbe != null) {
+      blockingProbe.close();
+    }
+  }
+
+  private void schedule(long delayNanos) {
+    if (!cancelled) {
+      next = scheduler.schedule(this::check, delayNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void check() {
+    if (cancelled) {
+      return;
+    }
+
+    var start = System.nanoTime();
+    if (blockingProbe != null && blockingProbe.running()) {
+      LOG.debug("Checker: {} is DOWN, the previous check is still running", name);
+      report(start, "skipped", false);
+      return;
+    }
+
+    Uni<DependencyState> uni;
+    try {
+      uni = probe.get();
+    } catch (RuntimeException e) {
+      complete(start, null, e);
+      return;
+    }
+
+    if (timeout != null) {
+      uni = uni.ifNoItem().after(timeout).fail();
+    }
+    inFlight = uni.subscribe().with(
+        state -> complete(start, state, null),
+        failure -> complete(start, null, failure));
+  }
+
+  private void complete(long start, DependencyState state, Throwable failure) {
+    if (cancelled) {
+      return;
+    }
+
+    if (DependencyState.UP.equals(state)) {
+      LOG.debug("Checker: {} is UP", name);
+      report(start, "up", true);
+    } else {
+      String result;
+      if (failure instanceof TimeoutException) {
+        LOG.debug("Checker: {} is DOWN, no result after {}", name, timeout);
+        result = "timeout";
+      } else if (failure != null) {
+        LOG.debug("Checker: {} is DOWN, check failed", name, failure);
+        result = "error";
+      } else {
+        LOG.debug("Checker: {} is DOWN", name);
+        result = "down";
+      }
+      report(start, result, false);
+    }
+  }
+
+  private void report(long start, String result, boolean up) {
+    if (up) {
+      Metrics.dependencyUp(name);
+    } else {
+      Metrics.dependencyDown(name);
+    }
+    Metrics.dependencyCheckNanos(name, result, System.nanoTime() - start);
+    schedule(periodNanos);
+  }
+}
@@ -0,0 +1,97 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Labels of a dependency timed by the Mutiny operators of {@link br.com.labbs.quarkusmonitor.reactive.MonitorMetrics} or by the
+ * {@code @MonitoredDependency} interceptor, with the labels of each outcome built once. The timers are looked up in the meter cache of
+ * the bound metrics on each record, so they follow a removal from the registry or a new binding. The status is OK when the dependency
+ * emits its result, ERROR when it fails and CANCELLED when the subscriber cancels before the result.
+ */
+public final class DependencyTiming {
+
+  private static final String OK = "OK";
+  private static final String ERROR = "ERROR";
+  private static final String CANCELLED = "CANCELLED";
+
+  private final String[] successLabels;
+  private final String[] failureLabels;
+  private final String[] cancelledLabels;
+
+  /**
+   * @param name name of the dependency
+   * @param type type of the dependency, e.g. redis or sql
+   * @param method method or operation called in the dependency
+   * @param address address or operation template called in the dependency
+   */
+  public DependencyTiming(String name, String type, String method, String address) {
+    this.successLabels = new String[]{name, type, OK, method, address, "false", ""};
+    this.failureLabels = new String[]{name, type, ERROR, method, address, "true", ""};
+    this.cancelledLabels = new String[]{name, type, CANCELLED, method, address, "false", ""};
+  }
+
+  /**
+   * Time each subscription of the Uni, from the subscription to the item, failure or cancellation.
+   *
+   * @param uni call to the dependency
+   * @param <T> type of the item
+   * @return the Uni recording the duration of each subscription
+   */
+  public <T> Uni<T> time(Uni<T> uni) {
+    return Uni.createFrom().deferred(() -> {
+      var start = System.nanoTime();
+      return uni.onTermination().invoke((item, failure, cancelled) -> record(failure, cancelled, System.nanoTime() - start));
+    });
+  }
+
+  /**
+   * Time each subscription of the Multi, from the subscription to the completion, failure or cancellation.
+   *
+   * @param multi call to the dependency
+   * @param <T> type of the items
+   * @return the Multi recording the duration of each subscription
+   */
+  public <T> Multi<T> time(Multi<T> multi) {
+    return Multi.createFrom().deferred(() -> {
+      var start = System.nanoTime();
+      return multi.onTermination().invoke((failure, cancelled) -> record(failure, cancelled, System.nanoTime() - start));
+    });
+  }
+
+  /**
+   * Record the duration of the stage when it completes, the stage itself is returned untouched so cancelling it still reaches the
+   * dependency.
+   *
+   * @param stage call to the dependency
+   * @param start {@link System#nanoTime()} when the call started
+   * @param <T> type of the result
+   * @return the same stage
+   */
+  public <T> CompletionStage<T> time(CompletionStage<T> stage, long start) {
+    stage.whenComplete((result, failure) -> {
+      var cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+      if (cause instanceof CancellationException) {
+        record(null, true, System.nanoTime() - start);
+      } else {
+        record(cause, false, System.nanoTime() - start);
+      }
+    });
+    return stage;
+  }
+
+  /**
+   * Record the duration of a call to the dependency.
+   *
+   * @param failure failure of the call, or null
+   * @param cancelled true if the call was cancelled before its result
+   * @param nanos duration of the call in nanoseconds
+   */
+  public void record(Throwable failure, boolean cancelled, long nanos) {
+    var labels = failure != null ? failureLabels : cancelled ? cancelledLabels : successLabels;
+    Metrics.dependencyRequestNanos(labels, nanos);
+  }
+}
@@ -0,0 +1,70 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures the lag of the Vert.x event loops: at each interval a no-op is submitted to every event loop, and the delay until it runs
+ * is recorded in event_loop_lag_seconds. A loop still running the previous probe gets no new one, so a blocked loop costs a single
+ * pending task and reports the whole blocking time once it is released.
+ */
+final class EventLoopLagProbe implements AutoCloseable {
+
+  private final List<LoopProbe> loops = new ArrayList<>();
+  private final ScheduledExecutorService scheduler;
+
+  /**
+   * @param vertx Vert.x instance of the application
+   * @param intervalNanos interval between two probes of the same loop
+   */
+  EventLoopLagProbe(Vertx vertx, long intervalNanos) {
+    for (EventExecutor executor : ((VertxInternal) vertx).getEventLoopGroup()) {
+      loops.add(new LoopProbe(executor));
+    }
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      var thread = new Thread(runnable, "b5-event-loop-lag");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::probe, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void probe() {
+    for (LoopProbe loop : loops) {
+      loop.submit();
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  private static final class LoopProbe {
+
+    private final EventExecutor executor;
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    private LoopProbe(EventExecutor executor) {
+      this.executor = executor;
+    }
+
+    private void submit() {
+      if (executor.isShuttingDown() || !pending.compareAndSet(false, true)) {
+        return;
+      }
+      var submitted = System.nanoTime();
+      executor.execute(() -> {
+        pending.set(false);
+        Metrics.eventLoopLagNanos(Thread.currentThread().getName(), System.nanoTime() - submitted);
+      });
+    }
+  }
+}
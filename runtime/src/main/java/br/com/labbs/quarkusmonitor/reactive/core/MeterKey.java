@@ -0,0 +1,107 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import io.micrometer.core.instrument.Meter;
+import java.util.List;
+
+/**
+ * Compact key for a cached meter handle: the metric name plus its tag values in the order of the tag keys, with the hash computed once.
+ * Missing or null tag values are equivalent to empty strings, as they are in the registered tags.
+ */
+final class MeterKey {
+
+  private String name;
+  private String[] values;
+  private int size;
+  private int hash;
+
+  /**
+   * Create a reusable lookup key, see {@link #reset(String, int, String[])}.
+   */
+  MeterKey() {
+  }
+
+  private MeterKey(String name, String[] values) {
+    reset(name, values.length, values);
+  }
+
+  /**
+   * Create a key copying the tag values, so it can be stored in a cache.
+   *
+   * @param name name of the metric
+   * @param size number of tag keys of the metric
+   * @param tagsValues values in the order of the tag keys
+   * @return the key for the meter
+   */
+  static MeterKey of(String name, int size, String[] tagsValues) {
+    var values = new String[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = valueAt(tagsValues, i);
+    }
+    return new MeterKey(name, values);
+  }
+
+  /**
+   * Create the key of a meter already registered, used to evict it from the cache when removed from the registry.
+   *
+   * @param id id of the registered meter
+   * @param tagsKeys tag keys of the metric in order
+   * @return the key for the meter
+   */
+  static MeterKey of(Meter.Id id, List<String> tagsKeys) {
+    var values = new String[tagsKeys.size()];
+    for (int i = 0; i < values.length; i++) {
+      var value = id.getTag(tagsKeys.get(i));
+      values[i] = value != null ? value : "";
+    }
+    return new MeterKey(id.getName(), values);
+  }
+
+  /**
+   * Point this key to the given values without copying them. Only used on thread confined lookup keys, which must never be stored.
+   *
+   * @param name name of the metric
+   * @param size number of tag keys of the metric
+   * @param tagsValues values in the order of the tag keys
+   * @return this key
+   */
+  MeterKey reset(String name, int size, String[] tagsValues) {
+    this.name = name;
+    this.values = tagsValues;
+    this.size = size;
+
+    int valuesHash = 1;
+    for (int i = 0; i < size; i++) {
+      valuesHash = 31 * valuesHash + valueAt(tagsValues, i).hashCode();
+    }
+    this.hash = 31 * name.hashCode() + valuesHash;
+    return this;
+  }
+
+  private static String valueAt(String[] values, int index) {
+    return index < values.length && values[index] != null ? values[index] : "";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof MeterKey other)) {
+      return false;
+    }
+    if (hash != other.hash || size != other.size || !name.equals(other.name)) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!valueAt(values, i).equals(valueAt(other.values, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
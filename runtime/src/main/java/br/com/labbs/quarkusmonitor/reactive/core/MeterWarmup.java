@@ -0,0 +1,57 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.KnownEndpoint;
+import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registration at startup of the request_seconds and dependency_request_seconds series of the resource methods and rest client methods
+ * found at build time, so the hot path does not register meters for them.
+ */
+final class MeterWarmup {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MeterWarmup.class);
+
+  private static volatile List<KnownEndpoint> routes = List.of();
+  private static volatile List<KnownEndpoint> clients = List.of();
+
+  private MeterWarmup() {
+  }
+
+  static void registerRoutes(List<KnownEndpoint> knownRoutes) {
+    routes = List.copyOf(knownRoutes);
+  }
+
+  static void registerClients(List<KnownEndpoint> knownClients) {
+    clients = List.copyOf(knownClients);
+  }
+
+  /**
+   * Register the series of each known endpoint for each status, skipping the excluded routes.
+   *
+   * @param statuses status codes of the series
+   */
+  static void run(List<Integer> statuses) {
+    int series = 0;
+    for (var route : routes) {
+      if (!FilterUtils.validPath(route.getAddress())) {
+        continue;
+      }
+      for (int status : statuses) {
+        Metrics.registerRequest(TagsUtil.requestLabelValues(status, route.getMethod(), route.getAddress()));
+        series++;
+      }
+    }
+    for (var client : clients) {
+      for (int status : statuses) {
+        Metrics.registerDependencyRequest(
+            TagsUtil.dependencyLabelValues(client.getName(), status, client.getMethod(), client.getAddress()));
+        series++;
+      }
+    }
+    LOG.debug("Warmup: registered {} series", series);
+  }
+}
@@ -1,240 +1,156 @@
 package br.com.labbs.quarkusmonitor.reactive.core;
 
-import io.micrometer.core.instrument.Gauge;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Tag;
-import io.micrometer.core.instrument.Timer;
-import java.time.Duration;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalUnit;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
+import io.quarkus.arc.ClientProxy;
 import jakarta.enterprise.inject.spi.CDI;
-import org.eclipse.microprofile.config.ConfigProvider;
+import java.time.temporal.TemporalUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Static API of the metrics, used by the filters and {@link br.com.labbs.quarkusmonitor.reactive.MonitorMetrics}, delegating to the
+ * {@link B5Metrics} bean of the application. See {@link B5Metrics} for the description of each metric.
+ */
 public class Metrics {
 
-  private static final String TYPE = "type";
-  private static final String STATUS = "status";
-  private static final String METHOD = "method";
-  private static final String ADDR = "addr";
-  private static final String IS_ERROR = "isError";
-  private static final String ERROR_MESSAGE = "errorMessage";
-  private static final String NAME = "name";
-  private static final String VERSION = "version";
-
-  private static final List<String> tagsKeysRequest = Arrays
-      .asList(TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE);
-  private static final List<String> tagsKeysDependency = Arrays
-      .asList(NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE);
-
-  private static final MeterRegistry registry = CDI.current().select(MeterRegistry.class).get();
-  private static final ConcurrentMap<String, AtomicInteger> dependencyGaugeMap = new ConcurrentHashMap<>();
-  private static final ConcurrentMap<String, AtomicLong> responseSizeGaugeMap = new ConcurrentHashMap<>();
-  private static final AtomicInteger appInfoGaugeMap = new AtomicInteger(0);
-
-  private static final double[] bucketsValues = Arrays.stream(
-      ConfigProvider.getConfig().getOptionalValue("quarkus.b5.monitor.buckets", String.class)
-          .orElse("0.1, 0.3, 1.5, 10.5").split(","))
-      .map(String::trim).mapToDouble(Double::parseDouble).toArray();
-
-  public static final String APP_INFO = "application_info";
-  public static final String RESPONSE_SIZE = "response_size";
-  public static final String DEPENDENCY_REQUEST = "dependency_request";
-  public static final String REQUEST = "request";
-  public static final String DEPENDENCY_UP = "dependency_up";
-
-  private static final BiFunction<double[], TemporalUnit, Duration[]> durationBucketDefaultFunction =
-      (values, unit) -> Arrays.stream(values).mapToObj(v -> Duration.of(secondsToMilliseconds(v), unit)).toArray(Duration[]::new);
+  public static final String APP_INFO = B5Metrics.APP_INFO;
+  public static final String RESPONSE_SIZE = B5Metrics.RESPONSE_SIZE;
+  public static final String REQUEST_SIZE = B5Metrics.REQUEST_SIZE;
+  public static final String DEPENDENCY_REQUEST = B5Metrics.DEPENDENCY_REQUEST;
+  public static final String REQUEST = B5Metrics.REQUEST;
+  public static final String REQUEST_FIRST_BYTE = B5Metrics.REQUEST_FIRST_BYTE;
+  public static final String REQUEST_PHASE = B5Metrics.REQUEST_PHASE;
+  public static final String RESPONSE_ITEMS = B5Metrics.RESPONSE_ITEMS;
+  public static final String DEPENDENCY_UP = B5Metrics.DEPENDENCY_UP;
+  public static final String REQUEST_INFLIGHT = B5Metrics.REQUEST_INFLIGHT;
+  public static final String DEPENDENCY_INFLIGHT = B5Metrics.DEPENDENCY_INFLIGHT;
+  public static final String DEPENDENCY_CHECK = B5Metrics.DEPENDENCY_CHECK;
+  public static final String EVENT_LOOP_LAG = B5Metrics.EVENT_LOOP_LAG;
+
+  private static volatile B5Metrics current;
+  private static volatile boolean bound;
 
   private Metrics() {
   }
 
   /**
-   * Create a dependency request metric in seconds with name dependency_request_seconds and tag values for the following tag keys NAME,
-   * TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * Bind the static API to the metrics of the application. Called by the recorder at runtime init, before the application serves
+   * requests, and again after a dev mode restart with the metrics of the new registry.
    *
-   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
-   * @param seconds how long time did the dependency request has executed
+   * @param metrics metrics of the application
    */
-  public static void dependencyRequestSeconds(String[] tagsValues, double seconds) {
-    dependencyRequestSeconds(tagsValues, seconds, bucketsValues, ChronoUnit.MILLIS);
+  public static synchronized void bind(B5Metrics metrics) {
+    var previous = current;
+    current = metrics;
+    bound = true;
+    if (previous != null && previous != metrics) {
+      previous.shutdown();
+    }
   }
 
   /**
-   * Create a dependency request metric in seconds with name dependency_request_seconds and tag values for the following tag keys NAME,
-   * TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   * Whether the recorder bound the metrics, which it only does when the extension is enabled. The rest client providers are discovered
+   * even when it is disabled, and check this before recording.
    *
-   * @param tagsValues values in order for tag keys NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE.
-   * @param seconds how long time did the dependency request has executed.
-   * @param bucketList array of double values for bucket
-   * @param timeUnit Unit of time in Milis, seconds for metric and buckets.
+   * @return true once {@link #bind(B5Metrics)} was called
    */
-  public static void dependencyRequestSeconds(String[] tagsValues, double seconds, double[] bucketList, TemporalUnit timeUnit) {
-    createTimer(DEPENDENCY_REQUEST,
-        "records in a histogram the number of requests of a dependency and their duration in seconds",
-        tagWithValue(tagsKeysDependency, tagsValues),
-        secondsToMilliseconds(seconds), timeUnit,
-        Arrays.stream(bucketList).mapToObj(v -> Duration.of(secondsToMilliseconds(v), timeUnit)).toArray(Duration[]::new));
+  public static boolean isBound() {
+    return bound;
   }
 
   /**
-   * Create a request metric in seconds with name request_seconds and tag values for the following tag keys TYPE, STATUS, METHOD, ADDR,
-   * IS_ERROR, ERROR_MESSAGE
+   * Metrics of the application, looked up in the container when used before the recorder binds them, e.g. by
+   * {@link br.com.labbs.quarkusmonitor.reactive.MonitorMetrics} while the extension is disabled.
    *
-   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
-   * @param seconds how long time did the request has executed
+   * @return the bound metrics
    */
+  public static B5Metrics current() {
+    var metrics = current;
+    return metrics != null ? metrics : lookup();
+  }
+
+  private static synchronized B5Metrics lookup() {
+    if (current == null) {
+      current = ClientProxy.unwrap(CDI.current().select(B5Metrics.class).get());
+    }
+    return current;
+  }
+
+  public static void dependencyRequestSeconds(String[] tagsValues, double seconds) {
+    current().dependencyRequestSeconds(tagsValues, seconds);
+  }
+
+  public static void dependencyRequestNanos(String[] tagsValues, long nanos) {
+    current().dependencyRequestNanos(tagsValues, nanos);
+  }
+
+  public static void dependencyRequestSeconds(String[] tagsValues, double seconds, double[] bucketList, TemporalUnit timeUnit) {
+    current().dependencyRequestSeconds(tagsValues, seconds, bucketList, timeUnit);
+  }
+
+  public static void dependencyCheckNanos(String dependencyName, String result, long nanos) {
+    current().dependencyCheckNanos(dependencyName, result, nanos);
+  }
+
+  public static void eventLoopLagNanos(String loop, long nanos) {
+    current().eventLoopLagNanos(loop, nanos);
+  }
+
   public static void requestSeconds(String[] tagsValues, double seconds) {
-    requestSeconds(tagsValues, seconds, bucketsValues, ChronoUnit.MILLIS);
+    current().requestSeconds(tagsValues, seconds);
+  }
+
+  public static void requestNanos(String[] tagsValues, long nanos) {
+    current().requestNanos(tagsValues, nanos);
+  }
+
+  public static void registerRequest(String[] tagsValues) {
+    current().registerRequest(tagsValues);
+  }
+
+  public static void registerDependencyRequest(String[] tagsValues) {
+    current().registerDependencyRequest(tagsValues);
+  }
+
+  public static void requestFirstByteNanos(String[] tagsValues, long nanos) {
+    current().requestFirstByteNanos(tagsValues, nanos);
+  }
+
+  public static void requestPhaseNanos(String phase, String method, String addr, long nanos) {
+    current().requestPhaseNanos(phase, method, addr, nanos);
+  }
+
+  public static void responseItems(String[] tagsValues, long items) {
+    current().responseItems(tagsValues, items);
   }
 
-  /**
-   * Create a request metric in seconds with name request_seconds and tag values for the following tag keys TYPE, STATUS, METHOD, ADDR,
-   * IS_ERROR, ERROR_MESSAGE
-   *
-   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
-   * @param seconds how long time did the request has executed
-   * @param bucketList array of double values for bucket
-   * @param timeUnit Unit of time in Milis, seconds for metric and buckets.
-   */
   public static void requestSeconds(String[] tagsValues, double seconds, double[] bucketList, TemporalUnit timeUnit) {
-    createTimer(REQUEST,
-        "records in a histogram the number of http requests and their duration in seconds",
-        tagWithValue(tagsKeysRequest, tagsValues),
-        secondsToMilliseconds(seconds), timeUnit,
-        Arrays.stream(bucketList).mapToObj(v -> Duration.of(secondsToMilliseconds(v), timeUnit)).toArray(Duration[]::new));
-  }
-
-  private static void createTimer(String name, String description, Iterable<Tag> tags,
-      long value, TemporalUnit unit, Duration[] duration) {
-    Optional.ofNullable(registry.find(name).tags(tags).timer()).ifPresentOrElse(
-        metric -> metric.record(Duration.of(value, unit)),
-        () -> Timer.builder(name)
-            .description(description)
-            .tags(tags)
-            .serviceLevelObjectives(duration)
-            .register(registry)
-            .record(Duration.of(value, unit))
-    );
-  }
-
-  private static long secondsToMilliseconds(double seconds) {
-    var result = seconds * 1000;
-    if (result > Long.MAX_VALUE) {
-      return Long.MAX_VALUE;
-    }
-    return (long) result;
+    current().requestSeconds(tagsValues, seconds, bucketList, timeUnit);
   }
 
-  /**
-   * Create a appliction info metric to show the version of application in the tag value
-   *
-   * @param version version of application
-   */
   public static void applicationInfo(String version) {
-    var tagVersion = Collections.singletonList(Tag.of(VERSION, version));
-    appInfoGaugeMap.set(1);
-    if (registry.find(APP_INFO).tags(tagVersion).gauge() == null) {
-      Gauge.builder(APP_INFO, appInfoGaugeMap::get)
-          .description("holds static info of an application, such as it's semantic version number")
-          .tags(tagVersion)
-          .register(registry);
-    }
+    current().applicationInfo(version);
   }
 
-  /**
-   * Create a response size metric in bytes with name response_size_bytes and tag values for the following tag keys TYPE, STATUS, METHOD,
-   * ADDR, IS_ERROR, ERROR_MESSAGE
-   *
-   * @param tagsValues values in order for tag keys TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
-   * @param size size of response in bytes.
-   */
   public static void responseSizeBytes(String[] tagsValues, double size) {
-    var description = "is a counter that computes how much data is being sent back to the user for a given request type. "
-        + "It captures the response size from the content-length response header. If there is no such header, "
-        + "the value exposed as metric will be zero";
-    var tags = tagWithValue(tagsKeysRequest, tagsValues);
-    var keyTag = tags.stream().map(Tag::getValue).collect(Collectors.joining("#"));
-
-    if (registry.find(RESPONSE_SIZE).tags(tags).gauge() == null) {
-      var value = new AtomicLong(0);
-      responseSizeGaugeMap.put(keyTag, value);
-      Gauge.builder(RESPONSE_SIZE, value::get)
-          .description(description)
-          .tags(tags)
-          .baseUnit("bytes")
-          .register(registry);
-    }
+    current().responseSizeBytes(tagsValues, size);
+  }
 
-    responseSizeGaugeMap.computeIfPresent(keyTag, (key, value) -> {
-      value.addAndGet(((Double) size).longValue());
-      return value;
-    });
-    responseSizeGaugeMap.computeIfAbsent(keyTag, key -> new AtomicLong(0));
+  public static void requestSizeBytes(String[] tagsValues, double size) {
+    current().requestSizeBytes(tagsValues, size);
   }
 
-  /**
-   * Create a metric with name dependency_up to show if a dependency is up
-   *
-   * @param dependencyName name of dependency in tag value of metric
-   */
   public static void dependencyUp(String dependencyName) {
-    createGaugeDependency(Tag.of(NAME, dependencyName));
-    dependencyGaugeMap.computeIfPresent(dependencyName, (key, value) -> {
-      value.set(1);
-      return value;
-    });
-    dependencyGaugeMap.computeIfAbsent(dependencyName, key -> new AtomicInteger(1));
+    current().dependencyUp(dependencyName);
   }
 
-  /**
-   * Create a metric with name dependency_up to show if a dependency is down
-   *
-   * @param dependencyName name of dependency in tag value of metric
-   */
   public static void dependencyDown(String dependencyName) {
-    createGaugeDependency(Tag.of(NAME, dependencyName));
-    dependencyGaugeMap.computeIfPresent(dependencyName, (key, value) -> {
-      value.set(0);
-      return value;
-    });
-    dependencyGaugeMap.computeIfAbsent(dependencyName, key -> new AtomicInteger(0));
-  }
-
-  private static void createGaugeDependency(Tag tag) {
-    if (registry.find(DEPENDENCY_UP).tags(Collections.singletonList(tag)).gauge() == null) {
-      var value = new AtomicInteger(0);
-      dependencyGaugeMap.put(tag.getValue(), value);
-      Gauge.builder(DEPENDENCY_UP, value::get)
-          .description("is a metric to register weather a specific dependency is up (1) or down (0). "
-              + "The label name registers the dependency name")
-          .tags(Collections.singletonList(tag))
-          .register(registry);
-    }
+    current().dependencyDown(dependencyName);
   }
 
-  private static Collection<Tag> tagWithValue(List<String> tagsKeys, String[] tagsValues) {
-    var tagList = new ArrayList<Tag>();
-
-    for (int i = 0; i < tagsKeys.size(); i++) {
-      if (i < tagsValues.length) {
-        tagList.add(Tag.of(tagsKeys.get(i), tagsValues[i]));
-      } else {
-        tagList.add(Tag.of(tagsKeys.get(i), ""));
-      }
-    }
+  public static LongAdder requestInflight(String addr) {
+    return current().requestInflight(addr);
+  }
 
-    return tagList;
+  public static LongAdder dependencyInflight(String dependencyName) {
+    return current().dependencyInflight(dependencyName);
   }
 }
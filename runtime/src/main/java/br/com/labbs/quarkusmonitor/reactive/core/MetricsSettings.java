@@ -0,0 +1,314 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import br.com.labbs.quarkusmonitor.reactive.config.MetricsB5Configuration;
+import br.com.labbs.quarkusmonitor.reactive.util.ExclusionMatcher;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Settings of the recording, parsed once from {@link MetricsB5Configuration} or built for an isolated {@link B5Metrics}. Immutable, the
+ * buckets are converted to the service level objectives of the timers up front.
+ */
+public final class MetricsSettings {
+
+  private final double[] buckets;
+  private final Duration[] serviceLevelObjectives;
+  private final ExclusionMatcher exclusions;
+  private final String errorMessageKey;
+  private final int maxSeries;
+  private final Map<String, Integer> maxLabelValues;
+  private final List<Pattern> errorMessagePatterns;
+  private final boolean asyncRecording;
+  private final int asyncRecordingCapacity;
+  private final boolean asyncRecordingDropOnFull;
+  private final boolean streamingCompletion;
+  private final boolean phaseBreakdown;
+  private final boolean vertxRoutes;
+  private final boolean warmup;
+  private final List<Integer> warmupStatuses;
+  private final boolean eventLoopLag;
+  private final Duration eventLoopLagInterval;
+  private final int dependencyCheckerThreads;
+  private final boolean dependencyCheckerVirtualThreads;
+
+  private MetricsSettings(Builder builder) {
+    this.buckets = builder.buckets.clone();
+    this.serviceLevelObjectives = Arrays.stream(buckets)
+        .mapToObj(seconds -> Duration.ofMillis((long) (seconds * 1000)))
+        .toArray(Duration[]::new);
+    this.exclusions = ExclusionMatcher.compile(builder.exclusions);
+    this.errorMessageKey = builder.errorMessageKey;
+    this.maxSeries = builder.maxSeries;
+    this.maxLabelValues = Map.copyOf(builder.maxLabelValues);
+    this.errorMessagePatterns = builder.errorMessagePatterns.stream().map(Pattern::compile).toList();
+    this.asyncRecording = builder.asyncRecording;
+    this.asyncRecordingCapacity = builder.asyncRecordingCapacity;
+    this.asyncRecordingDropOnFull = builder.asyncRecordingDropOnFull;
+    this.streamingCompletion = builder.streamingCompletion;
+    this.phaseBreakdown = builder.phaseBreakdown;
+    this.vertxRoutes = builder.vertxRoutes;
+    this.warmup = builder.warmup;
+    this.warmupStatuses = List.copyOf(builder.warmupStatuses);
+    this.eventLoopLag = builder.eventLoopLag;
+    this.eventLoopLagInterval = builder.eventLoopLagInterval;
+    this.dependencyCheckerThreads = builder.dependencyCheckerThreads;
+    this.dependencyCheckerVirtualThreads = builder.dependencyCheckerVirtualThreads;
+  }
+
+  /**
+   * Settings of the application.
+   *
+   * @param configuration configuration of the extension
+   * @return the settings
+   */
+  public static MetricsSettings from(MetricsB5Configuration configuration) {
+    return builder()
+        .buckets(Arrays.stream(configuration.buckets().split(","))
+            .map(String::trim).mapToDouble(Double::parseDouble).toArray())
+        .exclusions(Arrays.asList(configuration.exclusions().split(",")))
+        .errorMessageKey(configuration.errorMessage())
+        .maxSeries(configuration.maxSeries())
+        .maxLabelValues(configuration.maxLabelValues())
+        .errorMessagePatterns(configuration.errorMessagePatterns().orElse(List.of()))
+        .asyncRecording(configuration.asyncRecording().enabled(), configuration.asyncRecording().capacity(),
+            configuration.asyncRecording().dropOnFull())
+        .streamingCompletion(configuration.streamingCompletion().enabled())
+        .phaseBreakdown(configuration.phaseBreakdown().enabled())
+        .vertxRoutes(configuration.vertxRoutes().enabled())
+        .warmup(configuration.warmup().enabled(), configuration.warmup().statuses())
+        .eventLoopLag(configuration.eventLoopLag().enabled(), configuration.eventLoopLag().interval())
+        .dependencyCheckers(configuration.dependencyCheckerThreads(), configuration.dependencyCheckerVirtualThreads())
+        .build();
+  }
+
+  /**
+   * Builder starting from the defaults of the configuration.
+   *
+   * @return the builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public double[] buckets() {
+    return buckets.clone();
+  }
+
+  Duration[] serviceLevelObjectives() {
+    return serviceLevelObjectives;
+  }
+
+  public ExclusionMatcher exclusions() {
+    return exclusions;
+  }
+
+  public String errorMessageKey() {
+    return errorMessageKey;
+  }
+
+  public int maxSeries() {
+    return maxSeries;
+  }
+
+  public Map<String, Integer> maxLabelValues() {
+    return maxLabelValues;
+  }
+
+  public List<Pattern> errorMessagePatterns() {
+    return errorMessagePatterns;
+  }
+
+  public boolean asyncRecording() {
+    return asyncRecording;
+  }
+
+  public int asyncRecordingCapacity() {
+    return asyncRecordingCapacity;
+  }
+
+  public boolean asyncRecordingDropOnFull() {
+    return asyncRecordingDropOnFull;
+  }
+
+  public boolean streamingCompletion() {
+    return streamingCompletion;
+  }
+
+  public boolean phaseBreakdown() {
+    return phaseBreakdown;
+  }
+
+  public boolean vertxRoutes() {
+    return vertxRoutes;
+  }
+
+  public boolean warmup() {
+    return warmup;
+  }
+
+  public List<Integer> warmupStatuses() {
+    return warmupStatuses;
+  }
+
+  public boolean eventLoopLag() {
+    return eventLoopLag;
+  }
+
+  public Duration eventLoopLagInterval() {
+    return eventLoopLagInterval;
+  }
+
+  public int dependencyCheckerThreads() {
+    return dependencyCheckerThreads;
+  }
+
+  public boolean dependencyCheckerVirtualThreads() {
+    return dependencyCheckerVirtualThreads;
+  }
+
+  public static final class Builder {
+
+    private double[] buckets = {0.1, 0.3, 1.5, 10.5};
+    private List<String> exclusions = List.of("/metrics");
+    private String errorMessageKey = "error-info";
+    private int maxSeries = 10000;
+    private Map<String, Integer> maxLabelValues = Map.of();
+    private List<String> errorMessagePatterns = List.of();
+    private boolean asyncRecording;
+    private int asyncRecordingCapacity = 8192;
+    private boolean asyncRecordingDropOnFull = true;
+    private boolean streamingCompletion;
+    private boolean phaseBreakdown;
+    private boolean vertxRoutes;
+    private boolean warmup;
+    private List<Integer> warmupStatuses = List.of(200);
+    private boolean eventLoopLag;
+    private Duration eventLoopLagInterval = Duration.ofSeconds(1);
+    private int dependencyCheckerThreads = 2;
+    private boolean dependencyCheckerVirtualThreads;
+
+    private Builder() {
+    }
+
+    /**
+     * @param buckets histogram buckets in seconds
+     */
+    public Builder buckets(double... buckets) {
+      this.buckets = buckets;
+      return this;
+    }
+
+    /**
+     * @param exclusions paths where the metrics do not apply, see {@link ExclusionMatcher}
+     */
+    public Builder exclusions(List<String> exclusions) {
+      this.exclusions = exclusions;
+      return this;
+    }
+
+    /**
+     * @param errorMessageKey key of the error message in the request properties and response headers
+     */
+    public Builder errorMessageKey(String errorMessageKey) {
+      this.errorMessageKey = errorMessageKey;
+      return this;
+    }
+
+    /**
+     * @param maxSeries maximum number of series of each metric, zero or less disables the limit
+     */
+    public Builder maxSeries(int maxSeries) {
+      this.maxSeries = maxSeries;
+      return this;
+    }
+
+    /**
+     * @param maxLabelValues maximum number of distinct values of a label in each metric, by label key
+     */
+    public Builder maxLabelValues(Map<String, Integer> maxLabelValues) {
+      this.maxLabelValues = maxLabelValues;
+      return this;
+    }
+
+    /**
+     * @param errorMessagePatterns regular expressions replaced by * in the errorMessage label
+     */
+    public Builder errorMessagePatterns(List<String> errorMessagePatterns) {
+      this.errorMessagePatterns = errorMessagePatterns;
+      return this;
+    }
+
+    /**
+     * @param enabled record the timers in a background thread
+     * @param capacity capacity of the buffer of events waiting to be recorded
+     * @param dropOnFull drop the events when the buffer is full, otherwise record them in the caller thread
+     */
+    public Builder asyncRecording(boolean enabled, int capacity, boolean dropOnFull) {
+      this.asyncRecording = enabled;
+      this.asyncRecordingCapacity = capacity;
+      this.asyncRecordingDropOnFull = dropOnFull;
+      return this;
+    }
+
+    /**
+     * @param enabled record the streaming responses when they end
+     */
+    public Builder streamingCompletion(boolean enabled) {
+      this.streamingCompletion = enabled;
+      return this;
+    }
+
+    /**
+     * @param enabled record the queue, handler and serialization phases of the requests
+     */
+    public Builder phaseBreakdown(boolean enabled) {
+      this.phaseBreakdown = enabled;
+      return this;
+    }
+
+    /**
+     * @param enabled record the requests at the Vert.x router
+     */
+    public Builder vertxRoutes(boolean enabled) {
+      this.vertxRoutes = enabled;
+      return this;
+    }
+
+    /**
+     * @param enabled register the series of the routes and rest client methods at startup
+     * @param statuses status codes of the series registered
+     */
+    public Builder warmup(boolean enabled, List<Integer> statuses) {
+      this.warmup = enabled;
+      this.warmupStatuses = statuses;
+      return this;
+    }
+
+    /**
+     * @param enabled probe the delay of the Vert.x event loops
+     * @param interval interval between two probes of the same event loop
+     */
+    public Builder eventLoopLag(boolean enabled, Duration interval) {
+      this.eventLoopLag = enabled;
+      this.eventLoopLagInterval = interval;
+      return this;
+    }
+
+    /**
+     * @param threads number of threads scheduling the dependency checkers
+     * @param virtualThreads run the blocking checkers with timeout in virtual threads
+     */
+    public Builder dependencyCheckers(int threads, boolean virtualThreads) {
+      this.dependencyCheckerThreads = threads;
+      this.dependencyCheckerVirtualThreads = virtualThreads;
+      return this;
+    }
+
+    public MetricsSettings build() {
+      return new MetricsSettings(this);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import java.util.List;
+import java.util.Map;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsArrivalHandler;
+import br.com.labbs.quarkusmonitor.reactive.filter.MetricsRouteHandler;
+import br.com.labbs.quarkusmonitor.reactive.util.KnownEndpoint;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencies;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencyDescriptor;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptor;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptors;
+import br.com.labbs.quarkusmonitor.reactive.util.RouteTemplates;
+import io.quarkus.arc.ClientProxy;
+import io.quarkus.arc.runtime.BeanContainer;
+import io.quarkus.runtime.annotations.Recorder;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+@Recorder
+public class MonitorRecorder {
+
+  /**
+   * Bind the static metrics API to the metrics bean of the application, unwrapped from its client proxy for the hot path.
+   *
+   * @param beanContainer container providing the bean
+   */
+  public void initMetrics(BeanContainer beanContainer) {
+    Metrics.bind(ClientProxy.unwrap(beanContainer.beanInstance(B5Metrics.class)));
+  }
+
+  /**
+   * Register the route templates of the JAX-RS resource methods found at build time.
+   *
+   * @param templates normalized path templates by resource method key
+   */
+  public void registerRouteTemplates(Map<String, String> templates) {
+    RouteTemplates.register(templates);
+  }
+
+  /**
+   * Register the labels of the rest client methods found at build time.
+   *
+   * @param descriptors descriptors by rest client method key
+   */
+  public void registerRestClients(Map<String, RestClientDescriptor> descriptors) {
+    RestClientDescriptors.register(descriptors);
+  }
+
+  /**
+   * Register the resource methods whose series are registered by the warmup.
+   *
+   * @param routes http method and path template of the resource methods
+   */
+  public void registerWarmupRoutes(List<KnownEndpoint> routes) {
+    MeterWarmup.registerRoutes(routes);
+  }
+
+  /**
+   * Register the rest client methods whose series are registered by the warmup.
+   *
+   * @param clients name, http method and address of the rest client methods
+   */
+  public void registerWarmupClients(List<KnownEndpoint> clients) {
+    MeterWarmup.registerClients(clients);
+  }
+
+  /**
+   * Register the labels of the methods annotated with MonitoredDependency found at build time.
+   *
+   * @param descriptors descriptors by method key
+   */
+  public void registerMonitoredDependencies(Map<String, MonitoredDependencyDescriptor> descriptors) {
+    MonitoredDependencies.register(descriptors);
+  }
+
+  /**
+   * Handler of the router level instrumentation.
+   *
+   * @return handler recording request_seconds for the requests outside of JAX-RS
+   */
+  public Handler<RoutingContext> routeMetricsHandler() {
+    return new MetricsRouteHandler();
+  }
+
+  /**
+   * Handler stamping the arrival of the requests for the phase breakdown.
+   *
+   * @return handler stamping the arrival time in the routing context
+   */
+  public Handler<RoutingContext> arrivalHandler() {
+    return new MetricsArrivalHandler();
+  }
+}
@@ -0,0 +1,177 @@
+package br.com.labbs.quarkusmonitor.reactive.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the timer updates off the request threads: producers publish the resolved timer and the elapsed nanoseconds into a bounded
+ * lock-free ring buffer, and a single background thread drains it in batches into the timers.
+ *
+ * <p>The ring buffer follows the bounded queue design of Dmitry Vyukov: each slot has a sequence telling whether it is free for the
+ * producer claiming that position or filled for the consumer, so producers only contend on the CAS of the tail.
+ *
+ * <p>An idle drainer backs off for a few milliseconds, then parks until a producer publishes into the empty buffer, so an idle
+ * application has no wakeups. Producers only read a volatile flag to know whether they have to wake it up.
+ */
+final class RecordingPipeline implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RecordingPipeline.class);
+
+  static final String RECORDING_DROPPED = "metrics_recording_dropped";
+
+  private static final int BATCH_SIZE = 256;
+  private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final Timer[] timers;
+  private final long[] values;
+  private final AtomicLong tail = new AtomicLong();
+  private long head;
+
+  private final boolean dropOnFull;
+  private final Counter dropped;
+  private final Thread drainer;
+  private volatile boolean running = true;
+  private volatile boolean sleeping;
+
+  /**
+   * @param registry registry of the dropped events counter
+   * @param capacity capacity of the ring buffer, rounded up to a power of two
+   * @param dropOnFull drop the event when the buffer is full, otherwise it is recorded in the calling thread
+   */
+  RecordingPipeline(MeterRegistry registry, int capacity, boolean dropOnFull) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    this.mask = size - 1;
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.timers = new Timer[size];
+    this.values = new long[size];
+    this.dropOnFull = dropOnFull;
+    this.dropped = Counter.builder(RECORDING_DROPPED)
+        .description("counts the metric events dropped because the asynchronous recording buffer was full")
+        .register(registry);
+
+    this.drainer = new Thread(this::drainLoop, "b5-metrics-recorder");
+    this.drainer.setDaemon(true);
+    this.drainer.start();
+  }
+
+  /**
+   * Publish the record of the elapsed time in the timer, never blocks.
+   *
+   * @param timer timer to be updated
+   * @param nanos elapsed time in nanoseconds
+   */
+  void publish(Timer timer, long nanos) {
+    if (offer(timer, nanos)) {
+      if (sleeping) {
+        sleeping = false;
+        LockSupport.unpark(drainer);
+      }
+      return;
+    }
+    if (dropOnFull) {
+      dropped.increment();
+    } else {
+      timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private boolean offer(Timer timer, long nanos) {
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = (int) position & mask;
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+
+    timers[index] = timer;
+    values[index] = nanos;
+    sequences.set(index, position + 1);
+    return true;
+  }
+
+  /**
+   * Apply up to max published events, only called from the drainer thread.
+   */
+  private int drain(int max) {
+    int count = 0;
+    while (count < max) {
+      int index = (int) head & mask;
+      if (sequences.get(index) != head + 1) {
+        break;
+      }
+
+      var timer = timers[index];
+      var nanos = values[index];
+      timers[index] = null;
+      sequences.set(index, head + mask + 1);
+      head++;
+      count++;
+
+      try {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to record metric event", e);
+      }
+    }
+    return count;
+  }
+
+  private void drainLoop() {
+    long parkNanos = MIN_PARK_NANOS;
+    while (running) {
+      if (drain(BATCH_SIZE) > 0) {
+        parkNanos = MIN_PARK_NANOS;
+      } else if (parkNanos < MAX_PARK_NANOS) {
+        LockSupport.parkNanos(this, parkNanos);
+        parkNanos <<= 1;
+      } else {
+        // the flag is set before the last check, so a publish after it sees the flag and unparks
+        sleeping = true;
+        if (drain(BATCH_SIZE) == 0 && running) {
+          LockSupport.park(this);
+        }
+        sleeping = false;
+        parkNanos = MIN_PARK_NANOS;
+      }
+    }
+    while (drain(BATCH_SIZE) > 0) {
+      // flush the events published before closing
+    }
+  }
+
+  /**
+   * Stop the drainer thread after applying the events already published.
+   */
+  @Override
+  public void close() {
+    running = false;
+    LockSupport.unpark(drainer);
+    try {
+      drainer.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
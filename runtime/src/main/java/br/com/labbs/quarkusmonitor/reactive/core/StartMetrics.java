@@ -1,15 +1,40 @@
 package br.com.labbs.quarkusmonitor.reactive.core;
 
+import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
+import io.vertx.core.Vertx;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
-import org.eclipse.microprofile.config.ConfigProvider;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 @ApplicationScoped
 public class StartMetrics {
 
+  @Inject
+  Vertx vertx;
+
+  @ConfigProperty(name = "quarkus.application.version", defaultValue = "not-set")
+  String applicationVersion;
+
+  private EventLoopLagProbe eventLoopLagProbe;
+
   void onStart(@Observes StartupEvent ev) {
-    Metrics.applicationInfo(ConfigProvider.getConfig()
-        .getOptionalValue("quarkus.application.version", String.class).orElse("not-set"));
+    Metrics.applicationInfo(applicationVersion);
+
+    var settings = Metrics.current().settings();
+    if (settings.warmup()) {
+      MeterWarmup.run(settings.warmupStatuses());
+    }
+
+    if (settings.eventLoopLag()) {
+      eventLoopLagProbe = new EventLoopLagProbe(vertx, settings.eventLoopLagInterval().toNanos());
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent ev) {
+    if (eventLoopLagProbe != null) {
+      eventLoopLagProbe.close();
+    }
   }
 }
@@ -0,0 +1,65 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+/**
+ * State of a request or dependency call, kept in a property from the request filter to the response filter: its start and the
+ * in-flight counter it holds. The same object is the end handler releasing the counter, so a call costs one allocation instead of a
+ * boxed start time and a capturing handler.
+ */
+final class CallTiming implements Handler<AsyncResult<Void>>, BiConsumer<Object, Throwable> {
+
+	private final long start;
+	private final LongAdder inflight;
+	private boolean releasedByFilter;
+
+	/**
+	 * @param start {@link System#nanoTime()} when the call started
+	 * @param inflight in-flight counter, already incremented for the call
+	 */
+	CallTiming(long start, LongAdder inflight) {
+		this.start = start;
+		this.inflight = inflight;
+	}
+
+	long start() {
+		return start;
+	}
+
+	/**
+	 * Leave the release of the counter to the response filter, when the call has no end hook.
+	 */
+	void releaseInFilter() {
+		releasedByFilter = true;
+	}
+
+	/**
+	 * Release the counter if it was left to the response filter, at most once.
+	 */
+	void filterEnded() {
+		if (releasedByFilter) {
+			releasedByFilter = false;
+			inflight.decrement();
+		}
+	}
+
+	/**
+	 * End of the Vert.x response of a request.
+	 */
+	@Override
+	public void handle(AsyncResult<Void> result) {
+		inflight.decrement();
+	}
+
+	/**
+	 * Completion of the result of a dependency call.
+	 */
+	@Override
+	public void accept(Object response, Throwable failure) {
+		inflight.decrement();
+	}
+}
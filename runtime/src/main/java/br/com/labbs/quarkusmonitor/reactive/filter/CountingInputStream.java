@@ -0,0 +1,58 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read or skipped from the wrapped stream, passing every read through without buffering or copying.
+ */
+final class CountingInputStream extends InputStream {
+
+	private final InputStream delegate;
+	private long count;
+
+	CountingInputStream(InputStream delegate) {
+		this.delegate = delegate;
+	}
+
+	long getCount() {
+		return count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = delegate.read();
+		if (b >= 0) {
+			count++;
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = delegate.read(b, off, len);
+		if (read > 0) {
+			count += read;
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = delegate.skip(n);
+		if (skipped > 0) {
+			count += skipped;
+		}
+		return skipped;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return delegate.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
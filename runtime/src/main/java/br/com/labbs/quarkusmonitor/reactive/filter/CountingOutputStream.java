@@ -0,0 +1,43 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes written to the wrapped stream, passing every write through without buffering or copying.
+ */
+final class CountingOutputStream extends OutputStream {
+
+	private final OutputStream delegate;
+	private long count;
+
+	CountingOutputStream(OutputStream delegate) {
+		this.delegate = delegate;
+	}
+
+	long getCount() {
+		return count;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		delegate.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		delegate.write(b, off, len);
+		count += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		delegate.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
@@ -0,0 +1,75 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.container.ContainerRequestContext;
+
+import org.jboss.resteasy.reactive.client.impl.ClientRequestContextImpl;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.RestClientDescriptors;
+
+/**
+ * Counts the requests and dependency calls in flight. The counter is released once, when the Vert.x response ends or its connection
+ * closes for the requests, and when the result of the call completes, fails or is cancelled for the dependencies. The response filters
+ * only release it when those hooks are not available.
+ */
+final class InflightRequests {
+
+	private InflightRequests() {
+	}
+
+	/**
+	 * Count the request in flight and keep its timing in the request properties.
+	 *
+	 * @param request request context
+	 * @param addr addr label of the request
+	 * @param start {@link System#nanoTime()} when the request started
+	 */
+	static void requestStarted(ContainerRequestContext request, String addr, long start) {
+		var inflight = Metrics.requestInflight(addr);
+		inflight.increment();
+		var timing = new CallTiming(start, inflight);
+		request.setProperty(FilterUtils.TIMER_INIT_TIME_NANOS, timing);
+
+		var routingContext = FilterUtils.routingContext(request);
+		if (routingContext != null) {
+			routingContext.addEndHandler(timing);
+		} else {
+			timing.releaseInFilter();
+		}
+	}
+
+	static void requestEnded(ContainerRequestContext request) {
+		if (request.getProperty(FilterUtils.TIMER_INIT_TIME_NANOS) instanceof CallTiming timing) {
+			timing.filterEnded();
+		}
+	}
+
+	/**
+	 * Count the dependency call in flight and keep its timing in the request properties.
+	 *
+	 * @param request client request context
+	 * @param start {@link System#nanoTime()} when the call started
+	 */
+	static void dependencyStarted(ClientRequestContext request, long start) {
+		var descriptor = RestClientDescriptors.resolve(request);
+		var inflight = Metrics.dependencyInflight(descriptor != null ? descriptor.getName() : "");
+		inflight.increment();
+		var timing = new CallTiming(start, inflight);
+		request.setProperty(FilterUtils.TIMER_INIT_TIME_NANOS_CLIENT, timing);
+
+		if (request instanceof ClientRequestContextImpl clientRequestContext
+				&& clientRequestContext.getRestClientRequestContext().getResult() != null) {
+			clientRequestContext.getRestClientRequestContext().getResult().whenComplete(timing);
+		} else {
+			timing.releaseInFilter();
+		}
+	}
+
+	static void dependencyEnded(ClientRequestContext request) {
+		if (request.getProperty(FilterUtils.TIMER_INIT_TIME_NANOS_CLIENT) instanceof CallTiming timing) {
+			timing.filterEnded();
+		}
+	}
+}
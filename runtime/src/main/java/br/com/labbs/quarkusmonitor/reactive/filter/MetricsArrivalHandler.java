@@ -0,0 +1,17 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Stamps the arrival of the request at the Vert.x router, the start of the queue phase of request_phase_seconds.
+ */
+public class MetricsArrivalHandler implements Handler<RoutingContext> {
+
+	@Override
+	public void handle(RoutingContext context) {
+		context.put(FilterUtils.ARRIVAL_TIME, System.nanoTime());
+		context.next();
+	}
+}
@@ -1,10 +1,6 @@
 package br.com.labbs.quarkusmonitor.reactive.filter;
 
-import java.time.Instant;
-
-import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
-import jakarta.annotation.Priority;
-import jakarta.ws.rs.Priorities;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientRequestFilter;
 import jakarta.ws.rs.ext.Provider;
@@ -14,7 +10,10 @@ public class MetricsClientRequestFilter implements ClientRequestFilter {
 
     @Override
     public void filter(ClientRequestContext clientRequestContext) {
-        clientRequestContext.setProperty(FilterUtils.TIMER_INIT_TIME_MILLISECONDS_CLIENT, Instant.now());
+        if (!Metrics.isBound()) {
+            return;
+        }
+        InflightRequests.dependencyStarted(clientRequestContext, System.nanoTime());
     }
 
 }
@@ -0,0 +1,76 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+
+/**
+ * Breakdown of the server latency in request_phase_seconds, enabled with phase-breakdown.enabled:
+ * <ul>
+ *   <li>queue, from the arrival at the Vert.x router to the JAX-RS request filter, including the dispatch to the worker pool;</li>
+ *   <li>handler, from the JAX-RS request filter to the response filter, mostly the resource method;</li>
+ *   <li>serialization, from the response filter to the end of the entity write.</li>
+ * </ul>
+ * This interceptor records the serialization phase, the filters record the other ones. It is registered by the extension only when the
+ * breakdown is enabled.
+ */
+public class MetricsPhaseInterceptor implements WriterInterceptor {
+
+	static final String QUEUE = "queue";
+	static final String HANDLER = "handler";
+	static final String SERIALIZATION = "serialization";
+
+	@Context
+	Request request;
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		if (!(context.getProperty(FilterUtils.HANDLER_END_TIME) instanceof Long handlerEnd)
+				|| context.getProperty(FilterUtils.STREAMING_RESPONSE) != null) {
+			context.proceed();
+			return;
+		}
+
+		// streamed entities go through the writers once per item, only the first write is measured
+		context.removeProperty(FilterUtils.HANDLER_END_TIME);
+		context.proceed();
+		record(SERIALIZATION, request.getMethod(), context.getProperty(FilterUtils.PATH_WITH_PARAM_ID), System.nanoTime() - handlerEnd);
+	}
+
+	/**
+	 * Record the queue phase, from the arrival stamped by {@link MetricsArrivalHandler} to now.
+	 *
+	 * @param request request context, already with its path template
+	 * @param now {@link System#nanoTime()} at the JAX-RS request filter
+	 */
+	static void recordQueue(ContainerRequestContext request, long now) {
+		var routingContext = FilterUtils.routingContext(request);
+		if (routingContext != null && routingContext.get(FilterUtils.ARRIVAL_TIME) instanceof Long arrival) {
+			record(QUEUE, request.getMethod(), request.getProperty(FilterUtils.PATH_WITH_PARAM_ID), now - arrival);
+		}
+	}
+
+	/**
+	 * Record the handler phase and keep its end for the serialization phase.
+	 *
+	 * @param request request context
+	 * @param init {@link System#nanoTime()} at the JAX-RS request filter
+	 */
+	static void recordHandler(ContainerRequestContext request, long init) {
+		var now = System.nanoTime();
+		request.setProperty(FilterUtils.HANDLER_END_TIME, now);
+		record(HANDLER, request.getMethod(), request.getProperty(FilterUtils.PATH_WITH_PARAM_ID), now - init);
+	}
+
+	private static void record(String phase, String method, Object addr, long nanos) {
+		Metrics.requestPhaseNanos(phase, method, addr != null ? addr.toString() : "", nanos);
+	}
+}
@@ -0,0 +1,61 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+
+/**
+ * Measures the request body, registered by the extension only when enable-http-request-size is on. The size comes from the
+ * Content-Length header when present, otherwise the bytes read from the entity stream are counted. The request_size_bytes metric is
+ * recorded by {@link MetricsServiceResponseFilter} with the labels of request_seconds, once the status is known.
+ */
+public class MetricsRequestSizeInterceptor implements ReaderInterceptor {
+
+	@Override
+	public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
+		if (!Boolean.TRUE.equals(context.getProperty(FilterUtils.VALID_PATH_FOR_METRICS))) {
+			return context.proceed();
+		}
+
+		var contentLength = contentLength(context);
+		if (contentLength >= 0) {
+			context.setProperty(FilterUtils.REQUEST_SIZE, contentLength);
+			return context.proceed();
+		}
+
+		var counting = new CountingInputStream(context.getInputStream());
+		context.setInputStream(counting);
+		context.setProperty(FilterUtils.REQUEST_SIZE, counting);
+		return context.proceed();
+	}
+
+	/**
+	 * Size of the request body measured by the interceptor, or -1 when it did not read the body.
+	 */
+	static long requestSize(Object property) {
+		if (property instanceof Long size) {
+			return size;
+		}
+		if (property instanceof CountingInputStream counting) {
+			return counting.getCount();
+		}
+		return -1;
+	}
+
+	private static long contentLength(ReaderInterceptorContext context) {
+		var header = context.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH);
+		if (header != null) {
+			try {
+				return Long.parseLong(header.trim());
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,74 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
+
+/**
+ * Records the response_size_bytes metric. The size comes from the Content-Length header when the writer already knows it, otherwise
+ * the bytes written to the entity stream are counted. Registered by the extension only when enable-http-response-size is on, so the
+ * other applications keep the responses off the interceptor chain.
+ */
+public class MetricsResponseSizeInterceptor implements WriterInterceptor {
+
+	@Context
+	UriInfo uriInfo;
+
+	@Context
+	Request request;
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		if (!Boolean.TRUE.equals(context.getProperty(FilterUtils.VALID_PATH_FOR_METRICS))
+				|| context.getProperty(FilterUtils.STATUS_CODE) == null) {
+			context.proceed();
+			return;
+		}
+
+		var contentLength = contentLength(context);
+		if (contentLength >= 0) {
+			context.proceed();
+			record(context, contentLength);
+			return;
+		}
+
+		var original = context.getOutputStream();
+		var counting = new CountingOutputStream(original);
+		context.setOutputStream(counting);
+		try {
+			context.proceed();
+		} finally {
+			context.setOutputStream(original);
+			record(context, counting.getCount());
+		}
+	}
+
+	private void record(WriterInterceptorContext context, long size) {
+		Metrics.responseSizeBytes(TagsUtil.fillLabelValues(TagsUtil.requestLabelHolder(), uriInfo, request, context), size);
+	}
+
+	private static long contentLength(WriterInterceptorContext context) {
+		var header = context.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH);
+		if (header instanceof Number number) {
+			return number.longValue();
+		}
+		if (header != null) {
+			try {
+				return Long.parseLong(header.toString().trim());
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,77 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Router level instrumentation, enabled with vertx-routes.enabled. Records request_seconds when the http response ends, with the
+ * pattern of the route as addr, for the requests not handled by a JAX-RS resource method: those are recorded by the JAX-RS filters,
+ * which mark the routing context with {@link #markJaxRsRequest(ContainerRequestContext)}. The requests whose route has no pattern, like
+ * the ones JAX-RS rejects before matching a resource method, are recorded with the addr {@value #UNMATCHED}, never with their path.
+ */
+public class MetricsRouteHandler implements Handler<RoutingContext> {
+
+	static final String UNMATCHED = "UNMATCHED";
+
+	private static final String JAXRS_REQUEST = "b5.monitor.jaxrs";
+	private static final String EXCLUDED = "";
+
+	/**
+	 * addr of each route, empty when excluded, so the exclusions are matched once by route.
+	 */
+	private final ConcurrentMap<Route, String> addrs = new ConcurrentHashMap<>();
+
+	@Override
+	public void handle(RoutingContext context) {
+		var start = System.nanoTime();
+		context.addEndHandler(result -> record(context, start));
+		context.next();
+	}
+
+	private void record(RoutingContext context, long start) {
+		if (context.get(JAXRS_REQUEST) != null) {
+			return;
+		}
+
+		var addr = addr(context.currentRoute());
+		if (!addr.isEmpty()) {
+			Metrics.requestNanos(TagsUtil.fillLabelValues(TagsUtil.requestLabelHolder(), context, addr), System.nanoTime() - start);
+		}
+	}
+
+	private String addr(Route route) {
+		if (route == null) {
+			return validAddr(UNMATCHED);
+		}
+		var addr = addrs.get(route);
+		if (addr == null) {
+			addr = addrs.computeIfAbsent(route, key -> validAddr(key.getPath() != null ? key.getPath() : UNMATCHED));
+		}
+		return addr;
+	}
+
+	private static String validAddr(String addr) {
+		return FilterUtils.validPath(addr) ? addr : EXCLUDED;
+	}
+
+	/**
+	 * Mark the request as handled by the JAX-RS filters, so the router level instrumentation does not record it again.
+	 *
+	 * @param request JAX-RS request context
+	 */
+	static void markJaxRsRequest(ContainerRequestContext request) {
+		var routingContext = FilterUtils.routingContext(request);
+		if (routingContext != null) {
+			routingContext.put(JAXRS_REQUEST, Boolean.TRUE);
+		}
+	}
+}
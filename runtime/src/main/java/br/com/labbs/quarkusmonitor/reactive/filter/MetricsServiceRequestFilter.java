@@ -1,32 +1,38 @@
 package br.com.labbs.quarkusmonitor.reactive.filter;
 
 import java.io.IOException;
-import java.time.Instant;
 
-import jakarta.annotation.Priority;
-import jakarta.inject.Inject;
-import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
-import jakarta.ws.rs.container.ResourceInfo;
-import jakarta.ws.rs.ext.Provider;
 
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.RouteTemplates;
 
-@Provider
-@Priority(Priorities.AUTHENTICATION)
 public class MetricsServiceRequestFilter implements ContainerRequestFilter {
 
 	@Override
 	public void filter(ContainerRequestContext request) throws IOException {
-		var pathWithId = FilterUtils.toPathWithParamId(request);
-		var isValid = FilterUtils.validPath(pathWithId);
+		var route = RouteTemplates.resolve(request);
+		var pathWithId = route != null ? route.addr() : request.getUriInfo().getPath();
+		var isValid = route != null ? !route.excluded() : FilterUtils.validPath(pathWithId);
 
 		request.setProperty(FilterUtils.VALID_PATH_FOR_METRICS, isValid);
+		var settings = Metrics.current().settings();
+		if (settings.vertxRoutes()) {
+			MetricsRouteHandler.markJaxRsRequest(request);
+		}
 
 		if (isValid) {
 			request.setProperty(FilterUtils.PATH_WITH_PARAM_ID, pathWithId);
-			request.setProperty(FilterUtils.TIMER_INIT_TIME_MILLISECONDS, Instant.now());
+			var init = System.nanoTime();
+			InflightRequests.requestStarted(request, pathWithId, init);
+			if (settings.phaseBreakdown()) {
+				MetricsPhaseInterceptor.recordQueue(request, init);
+			}
+			if (settings.streamingCompletion() && route != null && route.streaming()) {
+				StreamingResponse.defer(request, pathWithId, init);
+			}
 		}
 	}
 
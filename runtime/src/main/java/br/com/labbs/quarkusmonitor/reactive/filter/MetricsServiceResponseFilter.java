@@ -1,44 +1,46 @@
 package br.com.labbs.quarkusmonitor.reactive.filter;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Optional;
 
-import jakarta.annotation.Priority;
-import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerResponseContext;
 import jakarta.ws.rs.container.ContainerResponseFilter;
-import jakarta.ws.rs.ext.Provider;
 
 import br.com.labbs.quarkusmonitor.reactive.MonitorMetrics;
 import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
 import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
 
-@Provider
-@Priority(Priorities.AUTHENTICATION)
 public class MetricsServiceResponseFilter implements ContainerResponseFilter {
 	
 	@Override
 	public void filter(ContainerRequestContext containerRequestContext,
 			ContainerResponseContext containerResponseContext) throws IOException {
 		if (getValidPathFromRequest(containerRequestContext)) {
-			var labels = TagsUtil.extractLabelValues(containerRequestContext, containerResponseContext);
+			InflightRequests.requestEnded(containerRequestContext);
+			var labels = TagsUtil.fillLabelValues(TagsUtil.requestLabelHolder(), containerRequestContext, containerResponseContext);
 
 			// Foi a forma que achei para passar o status code no aroundWriteTo
-			containerRequestContext.setProperty(FilterUtils.STATUS_CODE, containerResponseContext.getStatus());
-
-			if (containerRequestContext.getProperty(FilterUtils.TIMER_INIT_TIME_MILLISECONDS) != null) {
-				Instant init = (Instant) containerRequestContext.getProperty(FilterUtils.TIMER_INIT_TIME_MILLISECONDS);
+			containerRequestContext.setProperty(FilterUtils.STATUS_CODE, TagsUtil.statusValue(containerResponseContext.getStatus()));
+
+			if (containerRequestContext.getProperty(FilterUtils.TIMER_INIT_TIME_NANOS) instanceof CallTiming timing) {
+				if (Metrics.current().settings().phaseBreakdown()) {
+					MetricsPhaseInterceptor.recordHandler(containerRequestContext, timing.start());
+				}
+				if (!StreamingResponse.isDeferred(containerRequestContext)) {
+					Metrics.requestNanos(labels, MonitorMetrics.calcTimeElapsedInNanos(timing.start()));
+				}
+			}
 
-				Metrics.requestSeconds(labels, MonitorMetrics.calcTimeElapsedInSeconds(init));
+			// only set when the request size interceptor is installed and read the body
+			var requestSize = MetricsRequestSizeInterceptor.requestSize(containerRequestContext.getProperty(FilterUtils.REQUEST_SIZE));
+			if (requestSize >= 0) {
+				Metrics.requestSizeBytes(labels, requestSize);
 			}
 		}
 	}
 
 	private boolean getValidPathFromRequest(ContainerRequestContext request) {
-		return Boolean.parseBoolean(
-				Optional.ofNullable(request.getProperty(FilterUtils.VALID_PATH_FOR_METRICS)).orElse("").toString());
+		return Boolean.TRUE.equals(request.getProperty(FilterUtils.VALID_PATH_FOR_METRICS));
 	}
 }
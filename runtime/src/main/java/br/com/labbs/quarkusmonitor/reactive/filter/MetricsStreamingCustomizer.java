@@ -0,0 +1,25 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.util.List;
+
+import org.jboss.resteasy.reactive.common.model.ResourceClass;
+import org.jboss.resteasy.reactive.server.model.HandlerChainCustomizer;
+import org.jboss.resteasy.reactive.server.model.ServerResourceMethod;
+import org.jboss.resteasy.reactive.server.spi.ServerRestHandler;
+
+/**
+ * Counts the items of the {@code Multi} and SSE responses whose recording is deferred by {@link StreamingResponse}. RESTEasy Reactive
+ * writes their items without calling the writer interceptors, so they are counted around the resource method instead. Registered by
+ * the extension as a global customizer, whose handlers run ahead of the ones of the method, only when streaming-completion.enabled is on.
+ */
+public class MetricsStreamingCustomizer implements HandlerChainCustomizer {
+
+	@Override
+	public List<ServerRestHandler> handlers(Phase phase, ResourceClass resourceClass, ServerResourceMethod serverResourceMethod) {
+		return switch (phase) {
+			case BEFORE_METHOD_INVOKE -> List.of(StreamingItemsHandler.EVENT_SINK);
+			case AFTER_METHOD_INVOKE -> List.of(StreamingItemsHandler.PUBLISHER);
+			default -> List.of();
+		};
+	}
+}
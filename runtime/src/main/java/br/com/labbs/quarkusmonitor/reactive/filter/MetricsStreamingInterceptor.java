@@ -0,0 +1,25 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+
+/**
+ * Counts the entities written through the writers for the streaming responses whose recording is deferred by {@link StreamingResponse},
+ * one for a {@code StreamingOutput}. The items of the {@code Multi} and SSE responses skip the writer interceptors and are counted by
+ * {@link MetricsStreamingCustomizer}. Registered by the extension only when streaming-completion.enabled is on.
+ */
+public class MetricsStreamingInterceptor implements WriterInterceptor {
+
+	@Override
+	public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+		if (context.getProperty(FilterUtils.STREAMING_RESPONSE) instanceof StreamingResponse response) {
+			response.itemWritten();
+		}
+		context.proceed();
+	}
+}
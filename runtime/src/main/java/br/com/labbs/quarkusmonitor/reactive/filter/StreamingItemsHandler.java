@@ -0,0 +1,70 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.jboss.resteasy.reactive.RestMulti;
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.spi.ServerRestHandler;
+
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import io.smallrye.mutiny.Multi;
+
+/**
+ * Handlers counting the items of the streaming responses deferred by {@link StreamingResponse}, around the resource method.
+ */
+enum StreamingItemsHandler implements ServerRestHandler {
+
+	/**
+	 * Wraps the {@link SseEventSink} received by the resource method, counting the events it sends.
+	 */
+	EVENT_SINK {
+		@Override
+		public void handle(ResteasyReactiveRequestContext requestContext) {
+			if (requestContext.getProperty(FilterUtils.STREAMING_RESPONSE) instanceof StreamingResponse response) {
+				var parameters = requestContext.getParameters();
+				for (int i = 0; i < parameters.length; i++) {
+					if (parameters[i] instanceof SseEventSink sink) {
+						parameters[i] = new CountingEventSink(sink, response);
+					}
+				}
+			}
+		}
+	},
+
+	/**
+	 * Wraps the publisher returned by the resource method, counting the items it emits. A {@link RestMulti} is left as is, since it
+	 * carries the status and headers of the response.
+	 */
+	PUBLISHER {
+		@Override
+		public void handle(ResteasyReactiveRequestContext requestContext) {
+			if (requestContext.getProperty(FilterUtils.STREAMING_RESPONSE) instanceof StreamingResponse response
+					&& requestContext.getResult() instanceof Flow.Publisher<?> publisher && !(publisher instanceof RestMulti)) {
+				requestContext.setResult(Multi.createFrom().publisher(publisher).onItem().invoke(item -> response.itemWritten()));
+			}
+		}
+	};
+
+	private record CountingEventSink(SseEventSink delegate, StreamingResponse response) implements SseEventSink {
+
+		@Override
+		public boolean isClosed() {
+			return delegate.isClosed();
+		}
+
+		@Override
+		public CompletionStage<?> send(OutboundSseEvent event) {
+			response.itemWritten();
+			return delegate.send(event);
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+	}
+}
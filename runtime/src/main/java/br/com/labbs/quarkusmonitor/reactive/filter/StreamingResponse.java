@@ -0,0 +1,71 @@
+package br.com.labbs.quarkusmonitor.reactive.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
+import br.com.labbs.quarkusmonitor.reactive.util.FilterUtils;
+import br.com.labbs.quarkusmonitor.reactive.util.TagsUtil;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Recording of a streaming response deferred to the end of the Vert.x response, enabled with streaming-completion.enabled. It is set
+ * up by the request filter, since the response filters do not run for the {@code Multi} and SSE responses. When the response ends it
+ * records request_seconds with the whole stream duration, request_first_byte_seconds with the time until the headers were written,
+ * and response_items with the number of items emitted by the stream.
+ */
+final class StreamingResponse {
+
+	private final RoutingContext routingContext;
+	private final String addr;
+	private final long start;
+	private final AtomicLong items = new AtomicLong();
+	private volatile long firstByteNanos = -1;
+
+	private StreamingResponse(RoutingContext routingContext, String addr, long start) {
+		this.routingContext = routingContext;
+		this.addr = addr;
+		this.start = start;
+	}
+
+	/**
+	 * Defer the recording of the request to the end of the response.
+	 *
+	 * @param request request context
+	 * @param addr addr label of the request
+	 * @param start {@link System#nanoTime()} when the request started
+	 * @return false if the request is not served by Vert.x and must be recorded by the response filter
+	 */
+	static boolean defer(ContainerRequestContext request, String addr, long start) {
+		var routingContext = FilterUtils.routingContext(request);
+		if (routingContext == null) {
+			return false;
+		}
+
+		var response = new StreamingResponse(routingContext, addr, start);
+		request.setProperty(FilterUtils.STREAMING_RESPONSE, response);
+		routingContext.addHeadersEndHandler(v -> response.firstByteNanos = System.nanoTime() - start);
+		routingContext.addEndHandler(result -> response.complete());
+		return true;
+	}
+
+	static boolean isDeferred(ContainerRequestContext request) {
+		return request.getProperty(FilterUtils.STREAMING_RESPONSE) != null;
+	}
+
+	void itemWritten() {
+		items.incrementAndGet();
+	}
+
+	private void complete() {
+		// the status is only known once the response ends
+		var labels = TagsUtil.fillLabelValues(TagsUtil.requestLabelHolder(), routingContext, addr);
+		Metrics.requestNanos(labels, System.nanoTime() - start);
+		var firstByte = firstByteNanos;
+		if (firstByte >= 0) {
+			Metrics.requestFirstByteNanos(labels, firstByte);
+		}
+		Metrics.responseItems(labels, items.get());
+	}
+}
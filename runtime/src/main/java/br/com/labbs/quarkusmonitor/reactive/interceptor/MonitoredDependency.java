@@ -0,0 +1,45 @@
+package br.com.labbs.quarkusmonitor.reactive.interceptor;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the dependency_request_seconds metric for the calls of the annotated bean methods, or of every business method of the
+ * annotated bean. Methods returning {@code Uni} or {@code Multi} are timed from the subscription to the outcome, methods returning a
+ * {@code CompletionStage} until the stage completes, and the other methods until they return or throw.
+ */
+@Inherited
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MonitoredDependency {
+
+  /**
+   * Value of the name label.
+   */
+  @Nonbinding
+  String name();
+
+  /**
+   * Value of the type label.
+   */
+  @Nonbinding
+  String type() default "other";
+
+  /**
+   * Value of the method label, the name of the Java method when empty.
+   */
+  @Nonbinding
+  String method() default "";
+
+  /**
+   * Value of the addr label.
+   */
+  @Nonbinding
+  String address() default "";
+}
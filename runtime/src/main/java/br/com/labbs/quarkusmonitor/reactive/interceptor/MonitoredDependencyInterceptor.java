@@ -0,0 +1,49 @@
+package br.com.labbs.quarkusmonitor.reactive.interceptor;
+
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencies;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Interceptor of {@link MonitoredDependency}, the labels and the kind of result of each method come from the build time index.
+ */
+@MonitoredDependency(name = "")
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class MonitoredDependencyInterceptor {
+
+  @AroundInvoke
+  Object monitor(InvocationContext context) throws Exception {
+    var binding = MonitoredDependencies.resolve(context.getMethod(), context.getTarget());
+    var timing = binding.timing();
+    var start = System.nanoTime();
+
+    Object result;
+    try {
+      result = context.proceed();
+    } catch (Throwable t) {
+      // errors too, so the call is still counted
+      timing.record(t, false, System.nanoTime() - start);
+      throw t;
+    }
+
+    if (result == null) {
+      timing.record(null, false, System.nanoTime() - start);
+      return null;
+    }
+    return switch (binding.kind()) {
+      case UNI -> timing.time((Uni<?>) result);
+      case MULTI -> timing.time((Multi<?>) result);
+      case COMPLETION_STAGE -> timing.time((CompletionStage<?>) result, start);
+      default -> {
+        timing.record(null, false, System.nanoTime() - start);
+        yield result;
+      }
+    };
+  }
+}
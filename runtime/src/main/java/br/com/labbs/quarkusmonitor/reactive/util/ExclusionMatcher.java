@@ -0,0 +1,155 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher of the excluded paths, compiled once from the exclusions configuration and matched ignoring case.
+ * <ul>
+ *   <li>{@code /metrics} excludes only the path itself;</li>
+ *   <li>{@code /q/**} excludes the path and everything beneath it;</li>
+ *   <li>other entries with wildcards are globs, {@code *} and {@code ?} match inside a path segment and {@code **} across segments.</li>
+ * </ul>
+ * Literal and prefix entries are kept in a trie, so the cost of a match depends on the length of the path, not on the number of
+ * entries.
+ */
+public final class ExclusionMatcher {
+
+  private static final String PREFIX_SUFFIX = "/**";
+
+  private final Node root = new Node();
+  private final List<Pattern> globs = new ArrayList<>();
+
+  private ExclusionMatcher() {
+  }
+
+  /**
+   * Compile the exclusion entries, blank entries are ignored.
+   *
+   * @param exclusions exclusion entries
+   * @return the matcher
+   */
+  public static ExclusionMatcher compile(Collection<String> exclusions) {
+    var matcher = new ExclusionMatcher();
+    for (String exclusion : exclusions) {
+      var entry = exclusion.trim();
+      if (entry.isEmpty()) {
+        continue;
+      }
+
+      if (entry.endsWith(PREFIX_SUFFIX) && !hasWildcard(entry.substring(0, entry.length() - PREFIX_SUFFIX.length()))) {
+        matcher.node(entry.substring(0, entry.length() - PREFIX_SUFFIX.length())).prefix = true;
+      } else if (hasWildcard(entry)) {
+        matcher.globs.add(Pattern.compile(toRegex(entry), Pattern.CASE_INSENSITIVE));
+      } else {
+        matcher.node(entry).literal = true;
+      }
+    }
+    return matcher;
+  }
+
+  /**
+   * Check if the path is excluded.
+   *
+   * @param path path or path template
+   * @return true if any exclusion entry matches the path
+   */
+  public boolean matches(String path) {
+    if (path == null) {
+      return false;
+    }
+
+    var node = root;
+    for (int i = 0; ; i++) {
+      if (node.prefix && (i == path.length() || path.charAt(i) == '/')) {
+        return true;
+      }
+      if (i == path.length()) {
+        if (node.literal) {
+          return true;
+        }
+        break;
+      }
+      node = node.child(Character.toLowerCase(path.charAt(i)));
+      if (node == null) {
+        break;
+      }
+    }
+
+    for (Pattern glob : globs) {
+      if (glob.matcher(path).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Node node(String entry) {
+    var node = root;
+    for (int i = 0; i < entry.length(); i++) {
+      node = node.addChild(Character.toLowerCase(entry.charAt(i)));
+    }
+    return node;
+  }
+
+  private static boolean hasWildcard(String entry) {
+    return entry.indexOf('*') >= 0 || entry.indexOf('?') >= 0;
+  }
+
+  private static String toRegex(String glob) {
+    var regex = new StringBuilder();
+    for (int i = 0; i < glob.length(); i++) {
+      char c = glob.charAt(i);
+      if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+        regex.append(".*");
+        i++;
+      } else if (c == '*') {
+        regex.append("[^/]*");
+      } else if (c == '?') {
+        regex.append("[^/]");
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return regex.toString();
+  }
+
+  /**
+   * Node of the trie, with its children in parallel arrays: a path has few distinct characters after each prefix, and a scan of a
+   * small array neither boxes the character nor allocates.
+   */
+  private static final class Node {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private char[] keys = NO_KEYS;
+    private Node[] children = NO_CHILDREN;
+    private boolean literal;
+    private boolean prefix;
+
+    private Node child(char key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == key) {
+          return children[i];
+        }
+      }
+      return null;
+    }
+
+    private Node addChild(char key) {
+      var child = child(key);
+      if (child == null) {
+        child = new Node();
+        keys = Arrays.copyOf(keys, keys.length + 1);
+        children = Arrays.copyOf(children, children.length + 1);
+        keys[keys.length - 1] = key;
+        children[children.length - 1] = child;
+      }
+      return child;
+    }
+  }
+}
@@ -1,133 +1,79 @@
 package br.com.labbs.quarkusmonitor.reactive.util;
 
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-import br.com.labbs.quarkusmonitor.reactive.MonitorMetrics;
-import jakarta.inject.Named;
-import jakarta.ws.rs.Path;
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.container.ContainerRequestContext;
-import jakarta.ws.rs.container.ResourceInfo;
 import jakarta.ws.rs.ext.WriterInterceptorContext;
 
-import org.eclipse.microprofile.config.ConfigProvider;
-
 import io.micrometer.core.instrument.config.NamingConvention;
-import org.jboss.resteasy.reactive.client.impl.ClientRequestContextImpl;
+import io.vertx.ext.web.RoutingContext;
 import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
 import org.jboss.resteasy.reactive.server.jaxrs.ContainerRequestContextImpl;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class FilterUtils {
 
-  private static final Logger LOG = LoggerFactory.getLogger(FilterUtils.class);
-
   private static final Pattern tagKeyChars = Pattern.compile("[^a-zA-Z0-9_]");
-  public static final String TIMER_INIT_TIME_MILLISECONDS_CLIENT = "TIMER_INIT_TIME_MILLISECONDS_CLIENT";
-  public static final String TIMER_INIT_TIME_MILLISECONDS = "TIMER_INIT_TIME_MILLISECONDS";
+  public static final String TIMER_INIT_TIME_NANOS_CLIENT = "TIMER_INIT_TIME_NANOS_CLIENT";
+  public static final String TIMER_INIT_TIME_NANOS = "TIMER_INIT_TIME_NANOS";
   public static final String STATUS_CODE = "STATUS_CODE";
+  public static final String REQUEST_SIZE = "REQUEST_SIZE";
   public static final String VALID_PATH_FOR_METRICS = "VALID_PATH_FOR_METRICS";
   public static final String PATH_WITH_PARAM_ID = "PATH_WITH_PARAM_ID";
+  public static final String STREAMING_RESPONSE = "STREAMING_RESPONSE";
+  public static final String ARRIVAL_TIME = "ARRIVAL_TIME";
+  public static final String HANDLER_END_TIME = "HANDLER_END_TIME";
 
-  private static final Collection<String> exclusions =
-      Arrays.stream(
-          ConfigProvider.getConfig()
-              .getOptionalValue("quarkus.b5.monitor.exclusions", String.class)
-              .orElse("")
-              .split(","))
-          .map(Object::toString)
-          .map(String::trim)
-          .toList();
-  private static final String REST_CLIENT_METHOD = "org.eclipse.microprofile.rest.client.invokedMethod";
   public static final String URL_PATH_TEMPLATE = "UrlPathTemplate";
 
   private FilterUtils() {
   }
 
+  /**
+   * Vert.x routing context of the JAX-RS request.
+   *
+   * @param request request context
+   * @return the routing context, or null when the request is not served by Vert.x
+   */
+  public static RoutingContext routingContext(ContainerRequestContext request) {
+    if (request instanceof ContainerRequestContextImpl containerRequestContext
+        && containerRequestContext.getServerRequestContext() instanceof ResteasyReactiveRequestContext reactiveRequestContext) {
+      return reactiveRequestContext.serverRequest().unwrap(RoutingContext.class);
+    }
+    return null;
+  }
+
   public static boolean validPath(String pathWithParamId) {
-    return exclusions.stream().noneMatch(path -> path.equalsIgnoreCase(pathWithParamId));
+    return !Metrics.current().settings().exclusions().matches(pathWithParamId);
   }
 
-  public static Integer extractStatusCodeFromContext(WriterInterceptorContext context) {
-    return Integer.valueOf(context.getProperty(STATUS_CODE).toString());
+  public static int extractStatusCodeFromContext(WriterInterceptorContext context) {
+    return Integer.parseInt(context.getProperty(STATUS_CODE).toString());
   }
 
   public static String extractClassNameFromMethod(ClientRequestContext request) {
-    if (request.getProperty(REST_CLIENT_METHOD) instanceof Method method) {
-        var annotation = method.getDeclaringClass().getAnnotation(Named.class);
-
-      if (annotation != null && !annotation.value().isBlank()) {
-        return tagConvert(annotation.value());
-      }
-
-      return method.getDeclaringClass().getCanonicalName();
-    }
-
-    return "";
+    var descriptor = RestClientDescriptors.resolve(request);
+    return descriptor != null ? descriptor.getCheckerName() : "";
   }
 
   public static String toPathWithParamId(ClientRequestContext request) {
-    if(!Optional.ofNullable(request.getProperty(URL_PATH_TEMPLATE)).orElse("").toString().isBlank()) {
-      return String.valueOf(request.getProperty(URL_PATH_TEMPLATE));
+    var urlPathTemplate = request.getProperty(URL_PATH_TEMPLATE);
+    if (urlPathTemplate != null && !urlPathTemplate.toString().isBlank()) {
+      return urlPathTemplate.toString();
     }
 
-    if (request.getProperty(REST_CLIENT_METHOD) instanceof Method method) {
-      return extractPathWithParamFromMethod(method, request.getUri().getPath());
+    var descriptor = RestClientDescriptors.resolve(request);
+    if (descriptor != null && descriptor.getMethodAddress() != null) {
+      return descriptor.getMethodAddress();
     }
 
-    return extractPathWithParamFromMethod(null, request.getUri().getPath());
+    return request.getUri().getPath();
   }
 
   public static String toPathWithParamId(ContainerRequestContext request){
-    try {
-      if (request instanceof ContainerRequestContextImpl containerRequestContext
-          && containerRequestContext.getServerRequestContext() instanceof ResteasyReactiveRequestContext reactiveRequestContext
-          && reactiveRequestContext.getTarget() != null
-          && reactiveRequestContext.getTarget().getResourceClass() != null
-      ) {
-
-        var resourceClass = reactiveRequestContext.getTarget().getResourceClass();
-        var pathTemplate = reactiveRequestContext.getTarget().getPath().template;
-        var pathClass = Optional.ofNullable(resourceClass.getAnnotation(Path.class)).isPresent() ? resourceClass.getAnnotation(Path.class).value() :  "";
-        var pathId = pathClass  + pathTemplate;
-
-        return pathId.replace("//", "/");
-      }
-    }catch (NullPointerException e){
-      LOG.error("Erro ao tentar obter o pathTemplate.", e);
-    }
-
-    return request.getUriInfo().getPath();
-  }
-
-
-  private static String extractPathWithParamFromMethod(Method method, String defaultPath) {
-    String pathWithParam = "";
-
-    if (method == null) {
-      return defaultPath;
-    }
-
-    if (method.getDeclaringClass().getAnnotation(Path.class) != null) {
-      pathWithParam = method.getDeclaringClass().getAnnotation(Path.class).value();
-    }
-
-    if (method.getAnnotation(Path.class) != null) {
-      String methodValue = method.getAnnotation(Path.class).value();
-      if (methodValue != null && !methodValue.startsWith("/")) {
-    	  methodValue = "/" + methodValue;
-      }
-      pathWithParam = ("/".equals(pathWithParam)? "": pathWithParam) + methodValue;
-    }
-
-    return pathWithParam.isEmpty() ? defaultPath : pathWithParam;
+    var route = RouteTemplates.resolve(request);
+    return route != null ? route.addr() : request.getUriInfo().getPath();
   }
 
   public static String tagConvert(String key) {
@@ -0,0 +1,37 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import io.quarkus.runtime.annotations.RecordableConstructor;
+
+/**
+ * A JAX-RS resource method or rest client method found at build time, with the labels its requests will have.
+ */
+public class KnownEndpoint {
+
+  private final String name;
+  private final String method;
+  private final String address;
+
+  /**
+   * @param name value of the name label of a rest client method, null for a resource method
+   * @param method http method
+   * @param address path template used as addr label
+   */
+  @RecordableConstructor
+  public KnownEndpoint(String name, String method, String address) {
+    this.name = name;
+    this.method = method;
+    this.address = address;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+}
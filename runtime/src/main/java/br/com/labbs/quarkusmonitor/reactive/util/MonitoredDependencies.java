@@ -0,0 +1,106 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import br.com.labbs.quarkusmonitor.reactive.core.DependencyTiming;
+import br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependency;
+import br.com.labbs.quarkusmonitor.reactive.util.MonitoredDependencyDescriptor.ReturnKind;
+
+/**
+ * Descriptors of the methods annotated with {@link MonitoredDependency}, indexed at build time by the deployment processor and
+ * resolved once per intercepted method together with its timers, so the interceptor gets them without reflection.
+ */
+public class MonitoredDependencies {
+
+  private static volatile Map<String, MonitoredDependencyDescriptor> descriptors = Map.of();
+  private static final ConcurrentMap<Method, Binding> resolved = new ConcurrentHashMap<>();
+
+  /**
+   * Kind of result and timers of an intercepted method.
+   */
+  public record Binding(ReturnKind kind, DependencyTiming timing) {
+  }
+
+  private MonitoredDependencies() {
+  }
+
+  /**
+   * Register the descriptors found at build time.
+   *
+   * @param buildTimeDescriptors descriptors by key, see {@link RestClientDescriptors#key(String, String, String[])}
+   */
+  public static void register(Map<String, MonitoredDependencyDescriptor> buildTimeDescriptors) {
+    descriptors = Map.copyOf(buildTimeDescriptors);
+    resolved.clear();
+  }
+
+  /**
+   * Resolve the binding of the intercepted method.
+   *
+   * @param method intercepted method
+   * @param target intercepted bean instance, only used for methods missing from the build time index
+   * @return binding of the method
+   */
+  public static Binding resolve(Method method, Object target) {
+    var binding = resolved.get(method);
+    if (binding == null) {
+      binding = resolved.computeIfAbsent(method, m -> create(m, target));
+    }
+    return binding;
+  }
+
+  private static Binding create(Method method, Object target) {
+    var parameterTypes = new String[method.getParameterCount()];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      parameterTypes[i] = method.getParameterTypes()[i].getName();
+    }
+    var descriptor = descriptors.get(RestClientDescriptors.key(method.getDeclaringClass().getName(), method.getName(), parameterTypes));
+    if (descriptor == null) {
+      descriptor = fromAnnotations(method, target);
+    }
+    return new Binding(descriptor.getReturnKind(),
+        new DependencyTiming(descriptor.getName(), descriptor.getType(), descriptor.getMethod(), descriptor.getAddress()));
+  }
+
+  /**
+   * Fallback for methods not found in the build time index, like methods inherited from classes outside of the index.
+   */
+  private static MonitoredDependencyDescriptor fromAnnotations(Method method, Object target) {
+    var annotation = method.getAnnotation(MonitoredDependency.class);
+    if (annotation == null) {
+      annotation = method.getDeclaringClass().getAnnotation(MonitoredDependency.class);
+    }
+    if (annotation == null && target != null) {
+      annotation = target.getClass().getAnnotation(MonitoredDependency.class);
+    }
+
+    return annotation != null
+        ? descriptor(annotation.name(), annotation.type(), annotation.method(), annotation.address(), method.getName(),
+            method.getReturnType().getName())
+        : descriptor(method.getDeclaringClass().getName(), null, null, null, method.getName(), method.getReturnType().getName());
+  }
+
+  /**
+   * Build the descriptor of an annotated method from its annotation values, shared by the build time index and the runtime fallback.
+   *
+   * @param name name in the annotation
+   * @param type type in the annotation, or null
+   * @param method method in the annotation, or null
+   * @param address address in the annotation, or null
+   * @param methodName name of the Java method
+   * @param returnType binary name of the erased return type
+   * @return the descriptor
+   */
+  public static MonitoredDependencyDescriptor descriptor(String name, String type, String method, String address, String methodName,
+      String returnType) {
+    return new MonitoredDependencyDescriptor(
+        name,
+        type != null && !type.isBlank() ? type : "other",
+        method != null && !method.isBlank() ? method : methodName,
+        address != null ? address : "",
+        ReturnKind.of(returnType));
+  }
+}
@@ -0,0 +1,77 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import io.quarkus.runtime.annotations.RecordableConstructor;
+
+/**
+ * Labels and kind of result of a method annotated with {@link br.com.labbs.quarkusmonitor.reactive.interceptor.MonitoredDependency},
+ * resolved at build time from the annotation of the method or of its class.
+ */
+public class MonitoredDependencyDescriptor {
+
+  /**
+   * Kind of result, which decides when the call ends.
+   */
+  public enum ReturnKind {
+    UNI, MULTI, COMPLETION_STAGE, PLAIN;
+
+    private static final String UNI_TYPE = "io.smallrye.mutiny.Uni";
+    private static final String MULTI_TYPE = "io.smallrye.mutiny.Multi";
+    private static final String COMPLETION_STAGE_TYPE = "java.util.concurrent.CompletionStage";
+    private static final String COMPLETABLE_FUTURE_TYPE = "java.util.concurrent.CompletableFuture";
+
+    /**
+     * @param typeName binary name of the erased return type
+     * @return kind of the return type
+     */
+    public static ReturnKind of(String typeName) {
+      return switch (typeName) {
+        case UNI_TYPE -> UNI;
+        case MULTI_TYPE -> MULTI;
+        case COMPLETION_STAGE_TYPE, COMPLETABLE_FUTURE_TYPE -> COMPLETION_STAGE;
+        default -> PLAIN;
+      };
+    }
+  }
+
+  private final String name;
+  private final String type;
+  private final String method;
+  private final String address;
+  private final ReturnKind returnKind;
+
+  /**
+   * @param name value of the name label
+   * @param type value of the type label
+   * @param method value of the method label
+   * @param address value of the addr label
+   * @param returnKind kind of result of the method
+   */
+  @RecordableConstructor
+  public MonitoredDependencyDescriptor(String name, String type, String method, String address, ReturnKind returnKind) {
+    this.name = name;
+    this.type = type;
+    this.method = method;
+    this.address = address;
+    this.returnKind = returnKind;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  public ReturnKind getReturnKind() {
+    return returnKind;
+  }
+}
@@ -0,0 +1,44 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import io.quarkus.runtime.annotations.RecordableConstructor;
+
+/**
+ * Labels of a rest client method, resolved at build time from the rest client interface annotations.
+ */
+public class RestClientDescriptor {
+
+  private final String name;
+  private final String checkerName;
+  private final String address;
+  private final String methodAddress;
+
+  /**
+   * @param name value of the name label, from {@link br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient} or the interface
+   * @param checkerName name of the dependency in the dependency_up metric, from {@code @Named} or the interface canonical name
+   * @param address fixed value of the addr label from {@link br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient}, or null
+   * @param methodAddress path template from the {@code @Path} annotations, or null when there is none
+   */
+  @RecordableConstructor
+  public RestClientDescriptor(String name, String checkerName, String address, String methodAddress) {
+    this.name = name;
+    this.checkerName = checkerName;
+    this.address = address;
+    this.methodAddress = methodAddress;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getCheckerName() {
+    return checkerName;
+  }
+
+  public String getAddress() {
+    return address;
+  }
+
+  public String getMethodAddress() {
+    return methodAddress;
+  }
+}
@@ -0,0 +1,145 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import java.lang.reflect.Method;
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
+import jakarta.inject.Named;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.client.ClientRequestContext;
+
+/**
+ * Descriptors of the rest client methods, indexed at build time by the deployment processor and resolved once per invoked method, so
+ * the client filters get the dependency labels without reflection.
+ */
+public class RestClientDescriptors {
+
+  private static final String REST_CLIENT_METHOD = "org.eclipse.microprofile.rest.client.invokedMethod";
+  private static final Pattern nonAscii = Pattern.compile("[^\\p{ASCII}]");
+  private static final Pattern whitespaces = Pattern.compile("\\s+");
+
+  private static volatile Map<String, RestClientDescriptor> descriptors = Map.of();
+  private static final ConcurrentMap<Method, RestClientDescriptor> resolved = new ConcurrentHashMap<>();
+
+  private RestClientDescriptors() {
+  }
+
+  /**
+   * Register the descriptors found at build time.
+   *
+   * @param buildTimeDescriptors descriptors by key, see {@link #key(String, String, String[])}
+   */
+  public static void register(Map<String, RestClientDescriptor> buildTimeDescriptors) {
+    descriptors = Map.copyOf(buildTimeDescriptors);
+    resolved.clear();
+  }
+
+  /**
+   * Key of a rest client method in the build time index.
+   *
+   * @param className name of the rest client interface
+   * @param methodName name of the method
+   * @param parameterTypes binary names of the erased parameter types
+   * @return key of the method
+   */
+  public static String key(String className, String methodName, String[] parameterTypes) {
+    return className + '#' + methodName + '(' + String.join(",", parameterTypes) + ')';
+  }
+
+  /**
+   * Resolve the descriptor of the rest client method invoked by the request.
+   *
+   * @param request client request context
+   * @return descriptor of the method or null if the request was not made by a rest client method
+   */
+  public static RestClientDescriptor resolve(ClientRequestContext request) {
+    if (request.getProperty(REST_CLIENT_METHOD) instanceof Method method) {
+      var descriptor = resolved.get(method);
+      if (descriptor == null) {
+        descriptor = resolved.computeIfAbsent(method, RestClientDescriptors::create);
+      }
+      return descriptor;
+    }
+    return null;
+  }
+
+  private static RestClientDescriptor create(Method method) {
+    var descriptor = indexed(method);
+    return descriptor != null ? descriptor : fromAnnotations(method);
+  }
+
+  /**
+   * Descriptor of a rest client method in the build time index.
+   *
+   * @param method rest client method
+   * @return descriptor of the method or null if it is not in the index
+   */
+  public static RestClientDescriptor indexed(Method method) {
+    var parameterTypes = new String[method.getParameterCount()];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      parameterTypes[i] = method.getParameterTypes()[i].getName();
+    }
+    return descriptors.get(key(method.getDeclaringClass().getName(), method.getName(), parameterTypes));
+  }
+
+  /**
+   * Fallback for methods not found in the build time index, like rest clients created with the builder.
+   *
+   * @param method rest client method
+   * @return descriptor of the method read from its annotations
+   */
+  public static RestClientDescriptor fromAnnotations(Method method) {
+    var clientClass = method.getDeclaringClass();
+    var named = clientClass.getAnnotation(Named.class);
+    var tagValues = method.getAnnotation(TagValuesRestClient.class);
+    var classPath = clientClass.getAnnotation(Path.class);
+    var methodPath = method.getAnnotation(Path.class);
+
+    return descriptor(clientClass.getCanonicalName(),
+        named != null ? named.value() : null,
+        tagValues != null ? tagValues.name() : null,
+        tagValues != null ? tagValues.address() : null,
+        classPath != null ? classPath.value() : null,
+        methodPath != null ? methodPath.value() : null);
+  }
+
+  /**
+   * Build the descriptor of a rest client method from its annotation values, shared by the build time index and the runtime fallback.
+   *
+   * @param canonicalName canonical name of the rest client interface
+   * @param named value of {@code @Named} in the interface, or null
+   * @param tagName name in {@link TagValuesRestClient}, or null
+   * @param tagAddress address in {@link TagValuesRestClient}, or null
+   * @param classPath value of {@code @Path} in the interface, or null
+   * @param methodPath value of {@code @Path} in the method, or null
+   * @return the descriptor
+   */
+  public static RestClientDescriptor descriptor(String canonicalName, String named, String tagName, String tagAddress,
+      String classPath, String methodPath) {
+    var checkerName = named != null && !named.isBlank() ? FilterUtils.tagConvert(named) : canonicalName;
+    var name = tagName != null && !tagName.isBlank() ? removeSpecialCharacters(tagName) : checkerName;
+    var address = tagAddress != null && !tagAddress.isBlank() ? removeSpecialCharacters(tagAddress) : null;
+    return new RestClientDescriptor(name, checkerName, address, pathWithParam(classPath, methodPath));
+  }
+
+  private static String pathWithParam(String classPath, String methodPath) {
+    String pathWithParam = classPath != null ? classPath : "";
+
+    if (methodPath != null) {
+      String methodValue = methodPath.startsWith("/") ? methodPath : "/" + methodPath;
+      pathWithParam = ("/".equals(pathWithParam) ? "" : pathWithParam) + methodValue;
+    }
+
+    return pathWithParam.isEmpty() ? null : pathWithParam;
+  }
+
+  public static String removeSpecialCharacters(String input) {
+    String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+    String withoutAccent = nonAscii.matcher(normalized).replaceAll("");
+    return whitespaces.matcher(withoutAccent).replaceAll("_");
+  }
+}
@@ -0,0 +1,133 @@
+package br.com.labbs.quarkusmonitor.reactive.util;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.jaxrs.ContainerRequestContextImpl;
+import org.jboss.resteasy.reactive.server.mapping.RuntimeResource;
+
+/**
+ * Route templates of the JAX-RS resource methods, indexed at build time by the deployment processor and resolved once per resource
+ * method, so the request filter gets the addr label and the exclusion flag with a single lookup.
+ */
+public class RouteTemplates {
+
+  private static volatile Map<String, String> templates = Map.of();
+  private static final ConcurrentMap<RuntimeResource, RouteTemplate> routes = new ConcurrentHashMap<>();
+
+  private RouteTemplates() {
+  }
+
+  /**
+   * Route of a resource method.
+   *
+   * @param addr normalized path template used in the addr label
+   * @param excluded true if the path is in the exclusions and no metrics are recorded for it
+   * @param streaming true if the resource method streams its response: returns a {@code Multi}, another publisher or a
+   *     {@code StreamingOutput}, receives a {@code SseEventSink} or produces server-sent events
+   */
+  public record RouteTemplate(String addr, boolean excluded, boolean streaming) {
+  }
+
+  /**
+   * Register the templates found at build time.
+   *
+   * @param buildTimeTemplates templates by key, see {@link #key(String, String, String[], String)}
+   */
+  public static void register(Map<String, String> buildTimeTemplates) {
+    templates = Map.copyOf(buildTimeTemplates);
+    routes.clear();
+  }
+
+  /**
+   * Key of a resource method in the build time index, with the parameter types so overloaded methods do not share a key.
+   *
+   * @param className name of the resource class
+   * @param methodName name of the java method
+   * @param parameterTypes binary names of the erased parameter types
+   * @param httpMethod http method of the resource method
+   * @return key of the resource method
+   */
+  public static String key(String className, String methodName, String[] parameterTypes, String httpMethod) {
+    return className + '#' + methodName + '(' + String.join(",", parameterTypes) + ")#" + httpMethod;
+  }
+
+  /**
+   * Resolve the route of the resource method matched by the request.
+   *
+   * @param request request context
+   * @return route of the resource method or null if the request did not match any resource method
+   */
+  public static RouteTemplate resolve(ContainerRequestContext request) {
+    if (request instanceof ContainerRequestContextImpl containerRequestContext
+        && containerRequestContext.getServerRequestContext() instanceof ResteasyReactiveRequestContext reactiveRequestContext
+        && reactiveRequestContext.getTarget() != null
+        && reactiveRequestContext.getTarget().getResourceClass() != null) {
+      var target = reactiveRequestContext.getTarget();
+      var route = routes.get(target);
+      if (route == null) {
+        route = routes.computeIfAbsent(target, RouteTemplates::create);
+      }
+      return route;
+    }
+    return null;
+  }
+
+  private static RouteTemplate create(RuntimeResource target) {
+    var parameterTypes = new String[target.getParameterTypes().length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      parameterTypes[i] = target.getParameterTypes()[i].getName();
+    }
+    var addr = templates.get(key(target.getResourceClass().getName(), target.getJavaMethodName(), parameterTypes,
+        target.getHttpMethod()));
+    if (addr == null) {
+      addr = fromAnnotations(target);
+    }
+    return new RouteTemplate(addr, !FilterUtils.validPath(addr), isStreaming(target));
+  }
+
+  /**
+   * Resource methods returning a publisher or a {@link StreamingOutput}, receiving a {@link SseEventSink} or producing server-sent
+   * events.
+   */
+  private static boolean isStreaming(RuntimeResource target) {
+    var returnType = target.getReturnType();
+    var rawType = returnType instanceof ParameterizedType parameterizedType ? parameterizedType.getRawType() : returnType;
+    if (rawType instanceof Class<?> returnClass
+        && (Flow.Publisher.class.isAssignableFrom(returnClass) || StreamingOutput.class.isAssignableFrom(returnClass))) {
+      return true;
+    }
+    for (Class<?> parameterType : target.getParameterTypes()) {
+      if (SseEventSink.class.isAssignableFrom(parameterType)) {
+        return true;
+      }
+    }
+    if (target.getProduces() != null) {
+      for (MediaType mediaType : target.getProduces().getSortedMediaTypes()) {
+        if (!mediaType.isWildcardSubtype() && MediaType.SERVER_SENT_EVENTS_TYPE.isCompatible(mediaType)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Fallback for resource methods not found in the build time index.
+   */
+  private static String fromAnnotations(RuntimeResource target) {
+    var pathAnnotation = target.getResourceClass().getAnnotation(Path.class);
+    var pathClass = pathAnnotation != null ? pathAnnotation.value() : "";
+    return (pathClass + target.getPath().template).replace("//", "/");
+  }
+}
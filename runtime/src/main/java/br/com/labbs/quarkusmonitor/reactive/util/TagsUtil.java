@@ -1,9 +1,7 @@
 package br.com.labbs.quarkusmonitor.reactive.util;
 
 import java.util.Objects;
-import java.util.Optional;
 
-import br.com.labbs.quarkusmonitor.reactive.filter.TagValuesRestClient;
 import jakarta.ws.rs.client.ClientRequestContext;
 import jakarta.ws.rs.client.ClientResponseContext;
 import jakarta.ws.rs.container.ContainerRequestContext;
@@ -11,29 +9,82 @@ import jakarta.ws.rs.container.ContainerResponseContext;
 import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.ext.WriterInterceptorContext;
-import org.eclipse.microprofile.config.ConfigProvider;
+import io.vertx.ext.web.RoutingContext;
+
+import br.com.labbs.quarkusmonitor.reactive.core.Metrics;
 
 public class TagsUtil {
 
   private static final String HTTP = "http";
-  private static final String ERROR_MESSAGE_KEY = ConfigProvider.getConfig()
-      .getOptionalValue("quarkus.b5.monitor.error-message", String.class).orElse("error-info");
+  private static final String TRUE = "true";
+  private static final String FALSE = "false";
+  private static final int REQUEST_LABELS = 6;
+  private static final int DEPENDENCY_LABELS = 7;
+
+  private static final String[] statusValues = new String[600];
+  private static final ThreadLocal<String[]> requestLabelHolder = ThreadLocal.withInitial(() -> new String[REQUEST_LABELS]);
+  private static final ThreadLocal<String[]> dependencyLabelHolder = ThreadLocal.withInitial(() -> new String[DEPENDENCY_LABELS]);
+
+  static {
+    for (int i = 0; i < statusValues.length; i++) {
+      statusValues[i] = Integer.toString(i);
+    }
+  }
 
   private TagsUtil() {
   }
 
+  /**
+   * Array of request labels reused by the current thread, the content is only valid until the next call on the same thread.
+   *
+   * @return labels holder for TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public static String[] requestLabelHolder() {
+    return requestLabelHolder.get();
+  }
+
+  /**
+   * Array of dependency labels reused by the current thread, the content is only valid until the next call on the same thread.
+   *
+   * @return labels holder for NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public static String[] dependencyLabelHolder() {
+    return dependencyLabelHolder.get();
+  }
+
   public static String[] extractLabelValues(ContainerRequestContext request,
       ContainerResponseContext response) {
-    var pathWithParamId = (Optional.ofNullable(request.getProperty(FilterUtils.PATH_WITH_PARAM_ID))
-        .orElse(request.getUriInfo().getPath())).toString();
-    return new String[]{
-        HTTP,
-        Integer.toString(response.getStatus()),
-        request.getMethod(),
-        pathWithParamId,
-        Boolean.toString(isError(response.getStatus())),
-        extractMessageError(request, response)
-    };
+    return fillLabelValues(new String[REQUEST_LABELS], request, response);
+  }
+
+  /**
+   * Request labels without error message, as filled by the filters for a response with the status.
+   *
+   * @return labels for TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public static String[] requestLabelValues(int status, String method, String addr) {
+    return new String[]{HTTP, statusValue(status), method, addr, isErrorValue(status), ""};
+  }
+
+  /**
+   * Dependency labels without error message, as filled by the client filters for a response with the status.
+   *
+   * @return labels for NAME, TYPE, STATUS, METHOD, ADDR, IS_ERROR, ERROR_MESSAGE
+   */
+  public static String[] dependencyLabelValues(String name, int status, String method, String address) {
+    return new String[]{name, HTTP, statusValue(status), method, address, isErrorValue(status), ""};
+  }
+
+  public static String[] fillLabelValues(String[] labels, ContainerRequestContext request,
+      ContainerResponseContext response) {
+    var pathWithParamId = request.getProperty(FilterUtils.PATH_WITH_PARAM_ID);
+    labels[0] = HTTP;
+    labels[1] = statusValue(response.getStatus());
+    labels[2] = request.getMethod();
+    labels[3] = pathWithParamId != null ? pathWithParamId.toString() : request.getUriInfo().getPath();
+    labels[4] = isErrorValue(response.getStatus());
+    labels[5] = extractMessageError(request, response);
+    return labels;
   }
 
   public static String[] extractLabelValues(String name,ClientRequestContext request,
@@ -54,68 +105,122 @@ public class TagsUtil {
 
   public static String[] extractLabelValues(String name, ClientRequestContext request,
                                             ClientResponseContext response,String address) {
-    return new String[]{
-            name,
-            HTTP,
-            Integer.toString(response.getStatus()),
-            request.getMethod(),
-            address,
-            Boolean.toString(isError(response.getStatus())),
-            extractMessageError(request, response)};
+    return fillLabelValues(new String[DEPENDENCY_LABELS], name, request, response, address);
+  }
+
+  public static String[] fillLabelValues(String[] labels, String name, ClientRequestContext request,
+                                         ClientResponseContext response, String address) {
+    labels[0] = name;
+    labels[1] = HTTP;
+    labels[2] = statusValue(response.getStatus());
+    labels[3] = request.getMethod();
+    labels[4] = address;
+    labels[5] = isErrorValue(response.getStatus());
+    labels[6] = extractMessageError(request, response);
+    return labels;
   }
 
   public static String[] extractLabelValues(UriInfo uriInfo, Request request,
       WriterInterceptorContext context) {
+    return fillLabelValues(new String[REQUEST_LABELS], uriInfo, request, context);
+  }
+
+  public static String[] fillLabelValues(String[] labels, UriInfo uriInfo, Request request,
+      WriterInterceptorContext context) {
     int statusCode = FilterUtils.extractStatusCodeFromContext(context);
-    var pathWithParamId = (Optional.ofNullable(context.getProperty(FilterUtils.PATH_WITH_PARAM_ID))
-        .orElse(uriInfo.getPath())).toString();
-    return new String[]{
-        HTTP,
-        Integer.toString(statusCode),
-        request.getMethod(),
-        pathWithParamId,
-        Boolean.toString(isError(statusCode)),
-        extractMessageError(context)
-    };
+    var pathWithParamId = context.getProperty(FilterUtils.PATH_WITH_PARAM_ID);
+    labels[0] = HTTP;
+    labels[1] = statusValue(statusCode);
+    labels[2] = request.getMethod();
+    labels[3] = pathWithParamId != null ? pathWithParamId.toString() : uriInfo.getPath();
+    labels[4] = isErrorValue(statusCode);
+    labels[5] = extractMessageError(context);
+    return labels;
+  }
+
+  public static String[] fillLabelValues(String[] labels, RoutingContext context, String addr) {
+    var status = context.response().getStatusCode();
+    labels[0] = HTTP;
+    labels[1] = statusValue(status);
+    labels[2] = context.request().method().name();
+    labels[3] = addr;
+    labels[4] = isErrorValue(status);
+    labels[5] = extractMessageError(context);
+    return labels;
   }
 
   public static String extractMessageError(ContainerRequestContext request,
       ContainerResponseContext response) {
-
-    if (Objects.nonNull(response.getHeaders()) && Objects.nonNull(response.getHeaders().getFirst(ERROR_MESSAGE_KEY))) {
-      return response.getHeaderString(ERROR_MESSAGE_KEY);
+    var errorMessageKey = Metrics.current().settings().errorMessageKey();
+    if (Objects.nonNull(response.getHeaders()) && Objects.nonNull(response.getHeaders().getFirst(errorMessageKey))) {
+      return response.getHeaderString(errorMessageKey);
     }
 
-    if (request.getProperty(ERROR_MESSAGE_KEY) != null) {
-      return request.getProperty(ERROR_MESSAGE_KEY).toString();
+    if (request.getProperty(errorMessageKey) != null) {
+      return request.getProperty(errorMessageKey).toString();
     }
     return "";
   }
 
   private static String extractMessageError(WriterInterceptorContext context) {
-    if (Objects.nonNull(context.getHeaders()) && context.getHeaders().containsKey(ERROR_MESSAGE_KEY)) {
-      return context.getHeaders().get(ERROR_MESSAGE_KEY).get(0).toString();
+    var errorMessageKey = Metrics.current().settings().errorMessageKey();
+    if (Objects.nonNull(context.getHeaders()) && context.getHeaders().containsKey(errorMessageKey)) {
+      return context.getHeaders().get(errorMessageKey).get(0).toString();
     }
 
-    if (context.getProperty(ERROR_MESSAGE_KEY) != null) {
-      return context.getProperty(ERROR_MESSAGE_KEY).toString();
+    if (context.getProperty(errorMessageKey) != null) {
+      return context.getProperty(errorMessageKey).toString();
     }
     return "";
   }
 
+  private static String extractMessageError(RoutingContext context) {
+    var errorMessageKey = Metrics.current().settings().errorMessageKey();
+    var header = context.response().headers().get(errorMessageKey);
+    if (header != null) {
+      return header;
+    }
+
+    Object attribute = context.get(errorMessageKey);
+    return attribute != null ? attribute.toString() : "";
+  }
+
   private static String extractMessageError(ClientRequestContext request,
       ClientResponseContext response) {
-
-    if (Objects.nonNull(response.getHeaders()) && Objects.nonNull(response.getHeaders().getFirst(ERROR_MESSAGE_KEY))) {
-      return response.getHeaders().getFirst(ERROR_MESSAGE_KEY);
+    var errorMessageKey = Metrics.current().settings().errorMessageKey();
+    if (Objects.nonNull(response.getHeaders()) && Objects.nonNull(response.getHeaders().getFirst(errorMessageKey))) {
+      return response.getHeaders().getFirst(errorMessageKey);
     }
 
-    if (Objects.nonNull(request.getProperty(ERROR_MESSAGE_KEY))) {
-      return request.getProperty(ERROR_MESSAGE_KEY).toString();
+    if (Objects.nonNull(request.getProperty(errorMessageKey))) {
+      return request.getProperty(errorMessageKey).toString();
     }
     return "";
   }
 
+  /**
+   * Canonical string for the status code, without allocating for the valid http status codes.
+   *
+   * @param status status code
+   * @return status code as string
+   */
+  public static String statusValue(int status) {
+    if (status >= 0 && status < statusValues.length) {
+      return statusValues[status];
+    }
+    return Integer.toString(status);
+  }
+
+  /**
+   * Canonical string for the isError label of the status code.
+   *
+   * @param status status code
+   * @return "true" if the status code is an error, otherwise "false"
+   */
+  public static String isErrorValue(int status) {
+    return isError(status) ? TRUE : FALSE;
+  }
+
   public static boolean isError(int status) {
     return status < 200 || status >= 400;
   }